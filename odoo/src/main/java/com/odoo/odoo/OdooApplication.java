@@ -3,9 +3,11 @@ package com.odoo.odoo;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = "com.odoo")
 @EnableJpaAuditing
+@EnableScheduling
 public class OdooApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(OdooApplication.class, args);
@@ -0,0 +1,200 @@
+package com.odoo.odoo.cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Small thread-safe in-process cache: least-recently-used eviction once
+ * {@code maximumSize} is reached, plus a per-entry expiry that defaults to
+ * {@code timeToLive}. Expired entries are dropped lazily on access.
+ *
+ * <p>{@link #getOrLoad} guards each key on its own: a value loaded while its
+ * key was invalidated is returned but not cached, since it may predate the
+ * write behind the invalidation. Loads of other keys are unaffected.
+ */
+public class BoundedCache<K, V> {
+
+    private final int maximumSize;
+    private final long timeToLiveMillis;
+    private final LinkedHashMap<K, CacheEntry<V>> entries;
+    // Loads in progress; invalidating a key drops its token so that load isn't cached
+    private final Map<K, Object> loads = new HashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedCache(int maximumSize, Duration timeToLive) {
+        this.maximumSize = maximumSize;
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+                if (size() > BoundedCache.this.maximumSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public V get(K key) {
+        return get(key, value -> true);
+    }
+
+    /**
+     * Returns the cached value if it still passes {@code valid}; one that doesn't
+     * is dropped and counted as a miss. {@code valid} runs under the cache lock.
+     */
+    public synchronized V get(K key, Predicate<V> valid) {
+        CacheEntry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            entries.remove(key);
+            evictions.increment();
+            misses.increment();
+            return null;
+        }
+        if (!valid.test(entry.value)) {
+            entries.remove(key);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * Returns the cached value, loading and caching it on a miss. The loader runs
+     * outside the cache lock; a null result is returned but not cached.
+     */
+    public V getOrLoad(K key, Function<K, V> loader) {
+        return getOrLoad(key, loader, value -> true);
+    }
+
+    /**
+     * Like {@link #getOrLoad(Object, Function)}, but only caches loaded values, and
+     * only returns cached ones, that pass {@code valid}.
+     */
+    public V getOrLoad(K key, Function<K, V> loader, Predicate<V> valid) {
+        Object token = new Object();
+        synchronized (this) {
+            V cached = get(key, valid);
+            if (cached != null) {
+                return cached;
+            }
+            loads.put(key, token);
+        }
+
+        V value = null;
+        try {
+            value = loader.apply(key);
+        } finally {
+            completeLoad(key, token, value, valid);
+        }
+        return value;
+    }
+
+    private synchronized void completeLoad(K key, Object token, V value, Predicate<V> valid) {
+        // A later load of the same key, or an invalidation, replaced or removed the token
+        if (loads.get(key) != token) {
+            return;
+        }
+        loads.remove(key);
+        if (value != null && valid.test(value)) {
+            put(key, value);
+        }
+    }
+
+    public void put(K key, V value) {
+        put(key, value, System.currentTimeMillis() + timeToLiveMillis);
+    }
+
+    /**
+     * Caches a value until the given epoch millis, but never longer than the cache's time to live.
+     */
+    public synchronized void put(K key, V value, long expiresAtMillis) {
+        long expiresAt = Math.min(expiresAtMillis, System.currentTimeMillis() + timeToLiveMillis);
+        entries.put(key, new CacheEntry<>(value, expiresAt));
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+        loads.remove(key);
+    }
+
+    public synchronized void invalidateIf(Predicate<K> predicate) {
+        Iterator<K> keys = entries.keySet().iterator();
+        while (keys.hasNext()) {
+            if (predicate.test(keys.next())) {
+                keys.remove();
+            }
+        }
+        loads.keySet().removeIf(predicate);
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+        loads.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // Sum of a per-value weight over the live entries, e.g. for a memory estimate
+    public synchronized long totalWeight(ToLongFunction<V> weigher) {
+        long total = 0;
+        for (CacheEntry<V> entry : entries.values()) {
+            total += weigher.applyAsLong(entry.value);
+        }
+        return total;
+    }
+
+    public int maximumSize() {
+        return maximumSize;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public double hitRate() {
+        long hitCount = hits.sum();
+        long requests = hitCount + misses.sum();
+        return requests == 0 ? 0.0 : (double) hitCount / requests;
+    }
+
+    private static final class CacheEntry<V> {
+        private final V value;
+        private final long expiresAtMillis;
+
+        private CacheEntry(V value, long expiresAtMillis) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        private boolean isExpired(long nowMillis) {
+            return nowMillis >= expiresAtMillis;
+        }
+    }
+}
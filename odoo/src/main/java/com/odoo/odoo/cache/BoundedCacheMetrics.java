@@ -0,0 +1,39 @@
+package com.odoo.odoo.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Exports a {@link BoundedCache}'s statistics under Micrometer's usual cache
+ * meter names (cache.gets, cache.evictions, cache.size), tagged with the
+ * cache's name, plus the running hit ratio.
+ */
+public final class BoundedCacheMetrics {
+
+    private BoundedCacheMetrics() {
+    }
+
+    public static <C extends BoundedCache<?, ?>> C monitor(MeterRegistry registry, String name, C cache) {
+        FunctionCounter.builder("cache.gets", cache, BoundedCache::hitCount)
+                .tags("cache", name, "result", "hit")
+                .description("Lookups that found a live entry")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", cache, BoundedCache::missCount)
+                .tags("cache", name, "result", "miss")
+                .description("Lookups that found nothing or an expired entry")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", cache, BoundedCache::evictionCount)
+                .tags("cache", name)
+                .description("Entries dropped for size or expiry")
+                .register(registry);
+        Gauge.builder("cache.size", cache, BoundedCache::size)
+                .tags("cache", name)
+                .register(registry);
+        Gauge.builder("cache.hit.ratio", cache, BoundedCache::hitRate)
+                .tags("cache", name)
+                .description("Share of lookups since startup that were hits")
+                .register(registry);
+        return cache;
+    }
+}
@@ -0,0 +1,24 @@
+package com.odoo.odoo.cart;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Where cart contents live. A cart is a map of product id to quantity, in the
+ * order the products were added. Implementations always hand out copies.
+ */
+public interface CartStore {
+
+    Map<Long, Integer> getLines(Long userId);
+
+    /**
+     * Applies {@code change} to the user's lines and returns the result. Lines
+     * left with a quantity of zero or less are removed.
+     */
+    Map<Long, Integer> update(Long userId, Consumer<Map<Long, Integer>> change);
+
+    /**
+     * Empties the cart as part of the caller's transaction, e.g. after checkout.
+     */
+    void clear(Long userId);
+}
@@ -0,0 +1,101 @@
+package com.odoo.odoo.cart;
+
+import com.odoo.odoo.model.Cart;
+import com.odoo.odoo.model.CartItem;
+import com.odoo.odoo.repository.CartItemRepository;
+import com.odoo.odoo.repository.CartRepository;
+import com.odoo.odoo.repository.ProductRepository;
+import com.odoo.odoo.repository.UserRepository;
+import com.odoo.odoo.repository.projection.CartLine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Default cart store: every change is written straight to cart_items. Reads
+ * fetch just product ids and quantities, and an update is one select of the
+ * cart's rows followed by only the inserts, updates and deletes it needs.
+ */
+@Component
+@RequiredArgsConstructor
+public class DatabaseCartStore implements CartStore {
+
+    private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final ProductRepository productRepository;
+    private final UserRepository userRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Integer> getLines(Long userId) {
+        Map<Long, Integer> lines = new LinkedHashMap<>();
+        for (CartLine line : cartItemRepository.findLinesByUserId(userId)) {
+            lines.put(line.getProductId(), line.getQuantity());
+        }
+        return lines;
+    }
+
+    @Override
+    @Transactional
+    public Map<Long, Integer> update(Long userId, Consumer<Map<Long, Integer>> change) {
+        List<CartItem> items = cartItemRepository.findByCartUserIdOrderByIdAsc(userId);
+        Map<Long, CartItem> itemsByProduct = new LinkedHashMap<>();
+        Map<Long, Integer> lines = new LinkedHashMap<>();
+        for (CartItem item : items) {
+            itemsByProduct.put(item.getProduct().getId(), item);
+            lines.put(item.getProduct().getId(), item.getQuantity());
+        }
+
+        change.accept(lines);
+        lines.values().removeIf(quantity -> quantity == null || quantity <= 0);
+
+        List<CartItem> removed = new ArrayList<>();
+        for (Map.Entry<Long, CartItem> existing : itemsByProduct.entrySet()) {
+            Integer quantity = lines.get(existing.getKey());
+            if (quantity == null) {
+                removed.add(existing.getValue());
+            } else if (!quantity.equals(existing.getValue().getQuantity())) {
+                // Flushed by dirty checking on commit
+                existing.getValue().setQuantity(quantity);
+            }
+        }
+
+        List<CartItem> added = new ArrayList<>();
+        Cart cart = items.isEmpty() ? null : items.get(0).getCart();
+        for (Map.Entry<Long, Integer> line : lines.entrySet()) {
+            if (!itemsByProduct.containsKey(line.getKey())) {
+                if (cart == null) {
+                    cart = getOrCreateCart(userId);
+                }
+                added.add(CartItem.builder()
+                        .cart(cart)
+                        .product(productRepository.getReferenceById(line.getKey()))
+                        .quantity(line.getValue())
+                        .build());
+            }
+        }
+
+        cartItemRepository.deleteAll(removed);
+        cartItemRepository.saveAll(added);
+        return lines;
+    }
+
+    @Override
+    @Transactional
+    public void clear(Long userId) {
+        cartItemRepository.deleteByUserId(userId);
+    }
+
+    private Cart getOrCreateCart(Long userId) {
+        return cartRepository.findByUserId(userId)
+                .orElseGet(() -> cartRepository.save(Cart.builder()
+                        .user(userRepository.getReferenceById(userId))
+                        .build()));
+    }
+}
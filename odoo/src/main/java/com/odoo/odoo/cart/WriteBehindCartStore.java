@@ -0,0 +1,147 @@
+package com.odoo.odoo.cart;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Cart store that keeps carts in memory and writes them behind to the database.
+ * A cart is read from the database once, on first use; after that reads and
+ * updates don't touch the database, and changed carts are flushed on a timer and
+ * at shutdown. Clearing a cart at checkout is written through in the checkout
+ * transaction so a placed order can never leave its items behind.
+ * <p>
+ * Carts live in this instance's memory, so only enable it for a single instance
+ * or with requests for a user pinned to one instance.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "cart.store.type", havingValue = "write-behind")
+@RequiredArgsConstructor
+@Slf4j
+public class WriteBehindCartStore implements CartStore {
+
+    private final DatabaseCartStore database;
+
+    private final Map<Long, CartState> carts = new ConcurrentHashMap<>();
+
+    @Value("${cart.store.idle-eviction-minutes:30}")
+    private long idleEvictionMinutes;
+
+    private static final class CartState {
+        private Map<Long, Integer> lines;
+        private boolean dirty;
+        private boolean evicted;
+        private long lastAccess;
+    }
+
+    @Override
+    public Map<Long, Integer> getLines(Long userId) {
+        return withCart(userId, state -> new LinkedHashMap<>(state.lines));
+    }
+
+    @Override
+    public Map<Long, Integer> update(Long userId, Consumer<Map<Long, Integer>> change) {
+        return withCart(userId, state -> {
+            Map<Long, Integer> lines = new LinkedHashMap<>(state.lines);
+            change.accept(lines);
+            lines.values().removeIf(quantity -> quantity == null || quantity <= 0);
+            if (!lines.equals(state.lines)) {
+                state.lines = lines;
+                state.dirty = true;
+            }
+            return new LinkedHashMap<>(lines);
+        });
+    }
+
+    @Override
+    public void clear(Long userId) {
+        withCart(userId, state -> {
+            database.clear(userId);
+            Map<Long, Integer> previous = state.lines;
+            state.lines = new LinkedHashMap<>();
+            state.dirty = false;
+
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status != STATUS_COMMITTED) {
+                            // The delete was rolled back; put the lines back and let the next flush reconcile
+                            synchronized (state) {
+                                previous.forEach(state.lines::putIfAbsent);
+                                state.dirty = true;
+                            }
+                        }
+                    }
+                });
+            }
+            return null;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${cart.store.flush-interval-ms:2000}")
+    public void flush() {
+        long idleCutoff = System.currentTimeMillis() - idleEvictionMinutes * 60_000;
+        carts.forEach((userId, state) -> {
+            // Holding the cart's lock while writing keeps a concurrent clear from being overwritten
+            synchronized (state) {
+                if (state.evicted || state.lines == null) {
+                    return;
+                }
+                if (state.dirty) {
+                    Map<Long, Integer> snapshot = state.lines;
+                    try {
+                        database.update(userId, lines -> {
+                            lines.clear();
+                            lines.putAll(snapshot);
+                        });
+                        state.dirty = false;
+                    } catch (RuntimeException e) {
+                        log.warn("Failed to flush cart for user {}, will retry", userId, e);
+                        return;
+                    }
+                }
+                if (state.lastAccess < idleCutoff) {
+                    state.evicted = true;
+                    carts.remove(userId, state);
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private <T> T withCart(Long userId, Function<CartState, T> action) {
+        while (true) {
+            CartState state = carts.computeIfAbsent(userId, id -> new CartState());
+            synchronized (state) {
+                if (state.evicted) {
+                    // Lost a race with eviction; pick up the replacement
+                    continue;
+                }
+                if (state.lines == null) {
+                    state.lines = database.getLines(userId);
+                }
+                state.lastAccess = System.currentTimeMillis();
+                return action.apply(state);
+            }
+        }
+    }
+}
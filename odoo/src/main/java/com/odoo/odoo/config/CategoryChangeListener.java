@@ -0,0 +1,29 @@
+package com.odoo.odoo.config;
+
+import com.odoo.odoo.model.Category;
+import com.odoo.odoo.service.CategoryCatalog;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on {@link Category}: any write through the persistence context
+ * marks the CategoryCatalog stale. The catalog is looked up lazily so the
+ * listener also works in contexts without it (e.g. repository slice tests).
+ */
+@Component
+@RequiredArgsConstructor
+public class CategoryChangeListener {
+
+    private final ObjectProvider<CategoryCatalog> categoryCatalog;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Category category) {
+        categoryCatalog.ifAvailable(CategoryCatalog::markStale);
+    }
+}
@@ -0,0 +1,49 @@
+package com.odoo.odoo.config;
+
+import com.odoo.odoo.model.IdBlocks;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves each id block past the highest id already in its table. Tables that
+ * used to be filled through IDENTITY columns keep their rows, and the first
+ * block handed out after the switch must not collide with them. Runs once the
+ * schema is in place and before the application accepts requests.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class IdBlockInitializer {
+
+    // Block name = table the ids are for
+    private static final List<String> BLOCK_TABLES = List.of("orders", "order_items", "cart_items", "outbox_events");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void initialize() {
+        for (String table : BLOCK_TABLES) {
+            long next = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table, Long.class);
+            int updated = jdbcTemplate.update(
+                    "UPDATE " + IdBlocks.TABLE + " SET " + IdBlocks.NEXT_VALUE_COLUMN + " = ? WHERE "
+                            + IdBlocks.NAME_COLUMN + " = ? AND " + IdBlocks.NEXT_VALUE_COLUMN + " < ?",
+                    next, table, next);
+            if (updated == 0) {
+                Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + IdBlocks.TABLE
+                        + " WHERE " + IdBlocks.NAME_COLUMN + " = ?", Integer.class, table);
+                if (existing == 0) {
+                    jdbcTemplate.update("INSERT INTO " + IdBlocks.TABLE + " (" + IdBlocks.NAME_COLUMN + ", "
+                            + IdBlocks.NEXT_VALUE_COLUMN + ") VALUES (?, ?)", table, next);
+                }
+            }
+            log.debug("Id block for {} starts at {} or later", table, next);
+        }
+    }
+}
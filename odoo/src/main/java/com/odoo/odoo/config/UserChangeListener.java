@@ -0,0 +1,28 @@
+package com.odoo.odoo.config;
+
+import com.odoo.odoo.model.User;
+import com.odoo.odoo.service.UserDetailsServiceImpl;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on {@link User}: any update or delete through the persistence
+ * context drops the user's cached principal once the transaction commits.
+ * Bulk JPQL updates bypass it and have to evict explicitly (the counter updates
+ * don't touch anything the principal holds).
+ */
+@Component
+@RequiredArgsConstructor
+public class UserChangeListener {
+
+    private final ObjectProvider<UserDetailsServiceImpl> userDetailsService;
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(User user) {
+        userDetailsService.ifAvailable(service -> service.evictPrincipal(user.getEmail()));
+    }
+}
@@ -1,5 +1,6 @@
 package com.odoo.odoo.controller;
 
+import com.odoo.odoo.dto.request.BulkCartUpdateRequest;
 import com.odoo.odoo.dto.request.CartItemRequest;
 import com.odoo.odoo.dto.response.CartResponse;
 import com.odoo.odoo.service.CartService;
@@ -42,6 +43,13 @@ public class CartController {
         return ResponseEntity.ok(cart);
     }
 
+    @PostMapping("/bulk")
+    @Operation(summary = "Change quantities of several cart items at once")
+    public ResponseEntity<CartResponse> updateCartItems(@Valid @RequestBody BulkCartUpdateRequest request) {
+        CartResponse cart = cartService.updateCartItems(request);
+        return ResponseEntity.ok(cart);
+    }
+
     @DeleteMapping("/remove/{productId}")
     @Operation(summary = "Remove item from cart")
     public ResponseEntity<Void> removeFromCart(@PathVariable Long productId) {
@@ -2,14 +2,17 @@ package com.odoo.odoo.controller;
 
 
 import com.odoo.odoo.dto.response.CategoryResponse;
-import com.odoo.odoo.model.Category;
+import com.odoo.odoo.service.CategoryCatalog;
 import com.odoo.odoo.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -19,19 +22,28 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class CategoryController {
 
+    // Categories rarely change; clients revalidate with the ETag after this
+    private static final CacheControl CATEGORY_CACHE = CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic();
+
     private final CategoryService categoryService;
 
     @GetMapping
     @Operation(summary = "Get all categories")
-    public ResponseEntity<List<CategoryResponse>> getAllCategories() {
-        List<CategoryResponse> categories = categoryService.getAllCategoriesResponse();
-        return ResponseEntity.ok(categories);
+    public ResponseEntity<List<CategoryResponse>> getAllCategories(WebRequest request) {
+        CategoryCatalog.Snapshot catalog = categoryService.getCatalog();
+        if (request.checkNotModified(catalog.getEtag())) {
+            // 304 with the ETag already set by checkNotModified
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(catalog.getEtag())
+                .cacheControl(CATEGORY_CACHE)
+                .body(catalog.getResponses());
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get category by ID")
-    public ResponseEntity<Category> getCategoryById(@PathVariable Long id) {
-        Category category = categoryService.getCategoryById(id);
-        return ResponseEntity.ok(category);
+    public ResponseEntity<CategoryResponse> getCategoryById(@PathVariable Long id) {
+        return ResponseEntity.ok(categoryService.getCategoryResponse(id));
     }
 }
@@ -2,11 +2,13 @@ package com.odoo.odoo.controller;
 
 import com.odoo.odoo.dto.response.BuyerDashboardResponse;
 import com.odoo.odoo.dto.response.OrderResponse;
+import com.odoo.odoo.dto.response.SalesAnalyticsResponse;
 import com.odoo.odoo.dto.response.SellerDashboardResponse;
 import com.odoo.odoo.service.DashboardService;
+import com.odoo.odoo.service.SalesAnalyticsService;
+import com.odoo.odoo.util.OrderCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -19,11 +21,13 @@ public class DashboardController {
     @Autowired
     private DashboardService dashboardService;
 
+    @Autowired
+    private SalesAnalyticsService salesAnalyticsService;
+
     @GetMapping("/seller")
-    public ResponseEntity<SellerDashboardResponse> getSellerDashboard(Authentication authentication) {
+    public ResponseEntity<SellerDashboardResponse> getSellerDashboard() {
         try {
-            String userEmail = authentication.getName();
-            SellerDashboardResponse dashboard = dashboardService.getSellerDashboard(userEmail);
+            SellerDashboardResponse dashboard = dashboardService.getSellerDashboard();
             return ResponseEntity.ok(dashboard);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
@@ -31,10 +35,9 @@ public class DashboardController {
     }
 
     @GetMapping("/buyer")
-    public ResponseEntity<BuyerDashboardResponse> getBuyerDashboard(Authentication authentication) {
+    public ResponseEntity<BuyerDashboardResponse> getBuyerDashboard() {
         try {
-            String userEmail = authentication.getName();
-            BuyerDashboardResponse dashboard = dashboardService.getBuyerDashboard(userEmail);
+            BuyerDashboardResponse dashboard = dashboardService.getBuyerDashboard();
             return ResponseEntity.ok(dashboard);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
@@ -43,13 +46,12 @@ public class DashboardController {
 
     @GetMapping("/seller/orders")
     public ResponseEntity<List<OrderResponse>> getSellerOrders(
-            Authentication authentication,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
         try {
-            String userEmail = authentication.getName();
-            List<OrderResponse> orders = dashboardService.getSellerOrders(userEmail, page, size);
-            return ResponseEntity.ok(orders);
+            List<OrderResponse> orders = dashboardService.getSellerOrders(page, size, cursor);
+            return OrderCursor.withNextCursor(orders, size);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -57,29 +59,28 @@ public class DashboardController {
 
     @GetMapping("/buyer/orders")
     public ResponseEntity<List<OrderResponse>> getBuyerOrders(
-            Authentication authentication,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
         try {
-            String userEmail = authentication.getName();
-            List<OrderResponse> orders = dashboardService.getBuyerOrders(userEmail, page, size);
-            return ResponseEntity.ok(orders);
+            List<OrderResponse> orders = dashboardService.getBuyerOrders(page, size, cursor);
+            return OrderCursor.withNextCursor(orders, size);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    // timeRange is one of 7d, 30d (default) or 365d; served from the daily sales rollup
     @GetMapping("/seller/analytics")
-    public ResponseEntity<SellerDashboardResponse.ProductPerformanceResponse> getSellerAnalytics(
-            Authentication authentication,
+    public ResponseEntity<SalesAnalyticsResponse> getSellerAnalytics(
             @RequestParam(required = false) String timeRange) {
-        try {
-            String userEmail = authentication.getName();
-            // For now, return basic analytics - can be extended based on timeRange
-            SellerDashboardResponse dashboard = dashboardService.getSellerDashboard(userEmail);
-            return ResponseEntity.ok(dashboard.getTopProducts().get(0)); // Example - extend as needed
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().build();
-        }
+        return ResponseEntity.ok(salesAnalyticsService.getSellerAnalytics(timeRange));
+    }
+
+    @GetMapping("/seller/analytics/products/{productId}")
+    public ResponseEntity<SalesAnalyticsResponse> getProductAnalytics(
+            @PathVariable Long productId,
+            @RequestParam(required = false) String timeRange) {
+        return ResponseEntity.ok(salesAnalyticsService.getProductAnalytics(productId, timeRange));
     }
 }
@@ -1,12 +1,15 @@
 package com.odoo.odoo.controller;
 
 import com.odoo.odoo.dto.request.PlaceOrderRequest;
+import com.odoo.odoo.dto.response.CheckoutResponse;
 import com.odoo.odoo.dto.response.OrderResponse;
+import com.odoo.odoo.exception.ConflictException;
 import com.odoo.odoo.model.Order;
 import com.odoo.odoo.service.OrderService;
+import com.odoo.odoo.util.OrderCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
@@ -17,27 +20,28 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:3000")
 public class OrderController {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     @Autowired
     private OrderService orderService;
 
     @PostMapping("/place")
-    public ResponseEntity<?> placeOrder(@Valid @RequestBody PlaceOrderRequest request, 
-                                       Authentication authentication) {
+    public ResponseEntity<?> placeOrder(@Valid @RequestBody PlaceOrderRequest request,
+                                        @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         try {
-            String userEmail = authentication.getName();
-            OrderResponse order = orderService.placeOrder(userEmail, request);
-            return ResponseEntity.ok(order);
+            CheckoutResponse checkout = orderService.placeOrder(request, idempotencyKey);
+            return ResponseEntity.ok(checkout);
+        } catch (ConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error placing order: " + e.getMessage());
         }
     }
 
     @GetMapping("/{orderId}")
-    public ResponseEntity<OrderResponse> getOrder(@PathVariable Long orderId, 
-                                                 Authentication authentication) {
+    public ResponseEntity<OrderResponse> getOrder(@PathVariable Long orderId) {
         try {
-            String userEmail = authentication.getName();
-            OrderResponse order = orderService.getOrderById(orderId, userEmail);
+            OrderResponse order = orderService.getOrderById(orderId);
             return ResponseEntity.ok(order);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
@@ -46,11 +50,9 @@ public class OrderController {
 
     @PutMapping("/{orderId}/status")
     public ResponseEntity<?> updateOrderStatus(@PathVariable Long orderId,
-                                              @RequestParam Order.OrderStatus status,
-                                              Authentication authentication) {
+                                              @RequestParam Order.OrderStatus status) {
         try {
-            String userEmail = authentication.getName();
-            OrderResponse order = orderService.updateOrderStatus(orderId, status, userEmail);
+            OrderResponse order = orderService.updateOrderStatus(orderId, status);
             return ResponseEntity.ok(order);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error updating order status: " + e.getMessage());
@@ -58,11 +60,9 @@ public class OrderController {
     }
 
     @DeleteMapping("/{orderId}")
-    public ResponseEntity<?> cancelOrder(@PathVariable Long orderId,
-                                        Authentication authentication) {
+    public ResponseEntity<?> cancelOrder(@PathVariable Long orderId) {
         try {
-            String userEmail = authentication.getName();
-            orderService.cancelOrder(orderId, userEmail);
+            orderService.cancelOrder(orderId);
             return ResponseEntity.ok().body("Order cancelled successfully");
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error cancelling order: " + e.getMessage());
@@ -70,25 +70,22 @@ public class OrderController {
     }
 
     @GetMapping("/user")
-    public ResponseEntity<List<OrderResponse>> getUserOrders(Authentication authentication,
-                                                           @RequestParam(defaultValue = "0") int page,
-                                                           @RequestParam(defaultValue = "10") int size) {
+    public ResponseEntity<List<OrderResponse>> getUserOrders(@RequestParam(defaultValue = "0") int page,
+                                                           @RequestParam(defaultValue = "10") int size,
+                                                           @RequestParam(required = false) String cursor) {
         try {
-            String userEmail = authentication.getName();
-            List<OrderResponse> orders = orderService.getUserOrders(userEmail, page, size);
-            return ResponseEntity.ok(orders);
+            List<OrderResponse> orders = orderService.getUserOrders(page, size, cursor);
+            return OrderCursor.withNextCursor(orders, size);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
     @GetMapping("/track/{orderId}")
-    public ResponseEntity<?> trackOrder(@PathVariable Long orderId,
-                                       Authentication authentication) {
+    public ResponseEntity<?> trackOrder(@PathVariable Long orderId) {
         try {
-            String userEmail = authentication.getName();
             // For now, return the order with status - can be extended with detailed tracking
-            OrderResponse order = orderService.getOrderById(orderId, userEmail);
+            OrderResponse order = orderService.getOrderById(orderId);
             return ResponseEntity.ok(order);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error tracking order: " + e.getMessage());
@@ -2,6 +2,7 @@ package com.odoo.odoo.controller;
 
 import com.odoo.odoo.dto.request.ProductRequest;
 import com.odoo.odoo.dto.response.ProductResponse;
+import com.odoo.odoo.dto.response.SuggestionResponse;
 import com.odoo.odoo.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -10,9 +11,12 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -22,16 +26,24 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class ProductController {
 
+    // Briefly reusable by browsers and proxies, then revalidated with the ETag
+    private static final CacheControl PRODUCT_CACHE = CacheControl.maxAge(Duration.ofSeconds(10)).cachePublic();
+
     private final ProductService productService;
 
     @GetMapping
     @Operation(summary = "Get all products with pagination")
     public ResponseEntity<Page<ProductResponse>> getAllProducts(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "12") int size) {
+            @RequestParam(defaultValue = "12") int size,
+            WebRequest request) {
         Pageable pageable = PageRequest.of(page, size);
+        String etag = productService.getListingETag(null, pageable);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         Page<ProductResponse> products = productService.getAllProducts(pageable);
-        return ResponseEntity.ok(products);
+        return ResponseEntity.ok().eTag(etag).cacheControl(PRODUCT_CACHE).body(products);
     }
 
     @GetMapping("/search")
@@ -45,22 +57,41 @@ public class ProductController {
         return ResponseEntity.ok(products);
     }
 
+    @GetMapping("/suggest")
+    @Operation(summary = "Autocomplete product terms and category names")
+    public ResponseEntity<List<SuggestionResponse>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "8") int limit) {
+        List<SuggestionResponse> suggestions = productService.suggest(prefix, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+
     @GetMapping("/category/{categoryId}")
     @Operation(summary = "Get products by category")
     public ResponseEntity<Page<ProductResponse>> getProductsByCategory(
             @PathVariable Long categoryId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "12") int size) {
+            @RequestParam(defaultValue = "12") int size,
+            WebRequest request) {
         Pageable pageable = PageRequest.of(page, size);
+        String etag = productService.getListingETag(categoryId, pageable);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         Page<ProductResponse> products = productService.getProductsByCategory(categoryId, pageable);
-        return ResponseEntity.ok(products);
+        return ResponseEntity.ok().eTag(etag).cacheControl(PRODUCT_CACHE).body(products);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get product by ID")
-    public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id) {
+    public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id, WebRequest request) {
+        // Checked against the version stamp, so a 304 never loads the product
+        String etag = productService.getProductETag(id);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         ProductResponse product = productService.getProductById(id);
-        return ResponseEntity.ok(product);
+        return ResponseEntity.ok().eTag(etag).cacheControl(PRODUCT_CACHE).body(product);
     }
 
     @PostMapping
@@ -0,0 +1,28 @@
+package com.odoo.odoo.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkCartUpdateRequest {
+
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 100, message = "At most 100 items can be changed at once")
+    @Valid
+    private List<Item> items;
+
+    @Data
+    public static class Item {
+        @NotNull(message = "Product ID is required")
+        private Long productId;
+
+        // Added to the current quantity; the line is removed once it drops to zero
+        @NotNull(message = "Quantity change is required")
+        private Integer quantityDelta;
+    }
+}
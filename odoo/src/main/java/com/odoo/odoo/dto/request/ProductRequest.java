@@ -2,6 +2,7 @@ package com.odoo.odoo.dto.request;
 
 import com.odoo.odoo.model.Product;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
@@ -26,4 +27,7 @@ public class ProductRequest {
     private String imageUrl;
     private Product.ConditionRating conditionRating;
     private BigDecimal weight;
+
+    @Min(value = 0, message = "Stock cannot be negative")
+    private Integer stock;
 }
\ No newline at end of file
@@ -20,6 +20,8 @@ public class BuyerDashboardResponse {
     private List<OrderSummaryResponse> recentOrders;
     private List<ProductResponse> savedProducts;
     private SustainabilityAchievements sustainabilityAchievements;
+    // Sections that failed or timed out and are missing from this response
+    private List<String> unavailableSections;
 
     @Data
     @Builder
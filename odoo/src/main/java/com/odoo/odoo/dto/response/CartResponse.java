@@ -14,7 +14,6 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 public class CartResponse {
-    private Long id;
     private List<CartItemResponse> items;
     private BigDecimal totalAmount;
     private BigDecimal totalCarbonSaved;
@@ -25,7 +24,6 @@ public class CartResponse {
     @NoArgsConstructor
     @AllArgsConstructor
     public static class CartItemResponse {
-        private Long id;
         private Long productId;
         private String title;
         private BigDecimal price;
@@ -0,0 +1,21 @@
+package com.odoo.odoo.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckoutResponse {
+    // One order per seller in the cart
+    private List<OrderResponse> orders;
+    private BigDecimal totalAmount;
+    private BigDecimal totalCarbonSaved;
+    private Integer itemCount;
+}
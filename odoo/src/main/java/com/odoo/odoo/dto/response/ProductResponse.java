@@ -24,6 +24,7 @@ public class ProductResponse {
     private Product.ConditionRating conditionRating;
     private BigDecimal carbonFootprint;
     private Product.ProductStatus status;
+    private Integer stock;
     private LocalDateTime createdAt;
     private SustainabilityMetrics sustainabilityMetrics;
 
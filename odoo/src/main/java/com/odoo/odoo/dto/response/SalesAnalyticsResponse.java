@@ -0,0 +1,41 @@
+package com.odoo.odoo.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesAnalyticsResponse {
+    private String timeRange;
+    private LocalDate from;
+    private LocalDate to;
+    // Set for a single product's series, null for the seller as a whole
+    private Long productId;
+    private String productTitle;
+    private Long unitsSold;
+    private BigDecimal revenue;
+    private BigDecimal carbonSaved;
+    // One entry per day in the range, including days without sales
+    private List<DailySalesResponse> daily;
+    // Best sellers by revenue in the range; only set for the seller as a whole
+    private List<SellerDashboardResponse.ProductPerformanceResponse> topProducts;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DailySalesResponse {
+        private LocalDate date;
+        private Long unitsSold;
+        private BigDecimal revenue;
+        private BigDecimal carbonSaved;
+    }
+}
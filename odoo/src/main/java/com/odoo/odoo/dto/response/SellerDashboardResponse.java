@@ -20,6 +20,8 @@ public class SellerDashboardResponse {
     private List<RecentOrderResponse> recentOrders;
     private List<ProductPerformanceResponse> topProducts;
     private List<BuyerInsightResponse> topBuyers;
+    // Sections that failed or timed out and are missing from this response
+    private List<String> unavailableSections;
 
     @Data
     @Builder
@@ -0,0 +1,29 @@
+package com.odoo.odoo.event;
+
+import com.odoo.odoo.model.Order;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published whenever an order is placed or its status changes, and again once
+ * the figures derived from a placed order are updated, so in-process caches of
+ * either party's views can be dropped after commit.
+ */
+@Getter
+@AllArgsConstructor
+public class OrderChangedEvent {
+
+    private final Long orderId;
+    private final Long buyerId;
+    private final Long sellerId;
+    private final Order.OrderStatus status;
+
+    public static OrderChangedEvent of(Order order) {
+        return new OrderChangedEvent(
+                order.getId(),
+                order.getBuyer().getId(),
+                order.getSeller().getId(),
+                order.getStatus()
+        );
+    }
+}
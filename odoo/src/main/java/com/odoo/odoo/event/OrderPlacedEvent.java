@@ -0,0 +1,45 @@
+package com.odoo.odoo.event;
+
+import com.odoo.odoo.model.Order;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Outbox payload written for every order created at checkout.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPlacedEvent {
+
+    public static final String TYPE = "ORDER_PLACED";
+
+    private Long orderId;
+    private Long buyerId;
+    private Long sellerId;
+    private BigDecimal totalAmount;
+    private BigDecimal totalCarbonSaved;
+    private Integer itemCount;
+    private LocalDateTime placedAt;
+    // Listings of this order that sold out at checkout; null in events written before it was recorded
+    private Long soldOutListings;
+
+    public static OrderPlacedEvent of(Order order, long soldOutListings) {
+        return OrderPlacedEvent.builder()
+                .orderId(order.getId())
+                .buyerId(order.getBuyer().getId())
+                .sellerId(order.getSeller().getId())
+                .totalAmount(order.getTotalAmount())
+                .totalCarbonSaved(order.getTotalCarbonSaved())
+                .itemCount(order.getItems().stream().mapToInt(item -> item.getQuantity()).sum())
+                .placedAt(order.getCreatedAt())
+                .soldOutListings(soldOutListings)
+                .build();
+    }
+}
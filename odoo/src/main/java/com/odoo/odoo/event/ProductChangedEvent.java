@@ -0,0 +1,41 @@
+package com.odoo.odoo.event;
+
+import com.odoo.odoo.model.Product;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by ProductService whenever a listing is created, updated or deleted.
+ * Carries a snapshot of the fields in-process indexes need, so listeners running
+ * after commit don't have to reload the product.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductChangedEvent {
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final ChangeType type;
+    private final Long productId;
+    private final Long sellerId;
+    private final String title;
+    private final String description;
+    private final Product.ProductStatus status;
+
+    public static ProductChangedEvent of(ChangeType type, Product product) {
+        return new ProductChangedEvent(
+                type,
+                product.getId(),
+                product.getSeller() != null ? product.getSeller().getId() : null,
+                product.getTitle(),
+                product.getDescription(),
+                product.getStatus()
+        );
+    }
+
+    public boolean isSearchable() {
+        return type != ChangeType.DELETED && status == Product.ProductStatus.ACTIVE;
+    }
+}
@@ -0,0 +1,18 @@
+package com.odoo.odoo.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+
+/**
+ * Published by OrderService when a checkout reserves stock. The reservation is
+ * a native update that bypasses the persistence context, so in-process copies
+ * of those products have to be dropped explicitly after commit.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductStockChangedEvent {
+
+    private final Collection<Long> productIds;
+}
@@ -0,0 +1,8 @@
+package com.odoo.odoo.exception;
+
+
+public class TooManyRequestsException extends RuntimeException {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
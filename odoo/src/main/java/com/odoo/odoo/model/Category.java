@@ -1,6 +1,7 @@
 package com.odoo.odoo.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.odoo.odoo.config.CategoryChangeListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -13,6 +14,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "categories")
+@EntityListeners(CategoryChangeListener.class)
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,18 @@
+package com.odoo.odoo.model;
+
+/**
+ * Settings shared by the table-backed id generators of high-volume entities.
+ * Ids are handed out in blocks of {@link #BLOCK_SIZE} (pooled-lo), so a session
+ * inserting many rows fetches ids once per block and Hibernate can batch the
+ * inserts, which it can't do with IDENTITY columns.
+ */
+public final class IdBlocks {
+
+    public static final String TABLE = "id_blocks";
+    public static final String NAME_COLUMN = "block_name";
+    public static final String NEXT_VALUE_COLUMN = "next_val";
+    public static final int BLOCK_SIZE = 50;
+
+    private IdBlocks() {
+    }
+}
@@ -14,7 +14,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_seller_buyer", columnList = "seller_id, buyer_id, total_amount, created_at"),
+        @Index(name = "idx_orders_seller_created", columnList = "seller_id, created_at, id"),
+        @Index(name = "idx_orders_buyer_created", columnList = "buyer_id, created_at, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -23,7 +27,10 @@ import java.util.List;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_id")
+    @TableGenerator(name = "order_id", table = IdBlocks.TABLE, pkColumnName = IdBlocks.NAME_COLUMN,
+            valueColumnName = IdBlocks.NEXT_VALUE_COLUMN, pkColumnValue = "orders",
+            allocationSize = IdBlocks.BLOCK_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
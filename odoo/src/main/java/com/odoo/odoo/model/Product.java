@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -13,7 +14,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_status_updated", columnList = "status, updated_at"),
+        @Index(name = "idx_products_category_status_updated", columnList = "category_id, status, updated_at")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -57,6 +61,12 @@ public class Product {
 
     private BigDecimal weight; // in kg for carbon calculation
 
+    // Units left; most second-hand listings are one of a kind
+    @Column(nullable = false)
+    @ColumnDefault("1")
+    @Builder.Default
+    private Integer stock = 1;
+
     @CreatedDate
     private LocalDateTime createdAt;
 
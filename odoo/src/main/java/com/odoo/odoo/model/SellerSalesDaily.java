@@ -0,0 +1,50 @@
+package com.odoo.odoo.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One seller's sales of one product on one day, kept up to date as orders are
+ * placed and cancelled. The unique key leads with (seller, day), so a seller's
+ * analytics for any date range is a single index range scan; the second index
+ * serves per-product series.
+ */
+@Entity
+@Table(name = "seller_sales_daily",
+        uniqueConstraints = @UniqueConstraint(name = "uk_sales_seller_day_product",
+                columnNames = {"seller_id", "sales_date", "product_id"}),
+        indexes = @Index(name = "idx_sales_seller_product_day", columnList = "seller_id, product_id, sales_date"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SellerSalesDaily {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "seller_id", nullable = false)
+    private Long sellerId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    @Column(nullable = false)
+    private Long unitsSold;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal carbonSaved;
+}
@@ -1,10 +1,12 @@
 package com.odoo.odoo.model;
 
+import com.odoo.odoo.config.UserChangeListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -20,7 +22,7 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, UserChangeListener.class})
 public class User {
 
     public enum UserRole {
@@ -57,6 +59,15 @@ public class User {
     @Builder.Default
     private Integer sustainabilityPoints = 0;
 
+    // Denormalized counters, kept current by UserCounterService
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long activeListings = 0L;
+
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long ordersPlaced = 0L;
+
     @OneToMany(mappedBy = "seller", cascade = CascadeType.ALL)
     @Builder.Default
     private List<Product> productsListed = new ArrayList<>();
@@ -65,9 +76,6 @@ public class User {
     @Builder.Default
     private List<Order> orders = new ArrayList<>();
 
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL)
-    private Cart cart;
-
     @CreatedDate
     private LocalDateTime createdAt;
 
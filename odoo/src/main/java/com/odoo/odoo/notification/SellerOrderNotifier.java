@@ -0,0 +1,32 @@
+package com.odoo.odoo.notification;
+
+import com.odoo.odoo.event.OrderPlacedEvent;
+import com.odoo.odoo.outbox.OutboxEvent;
+import com.odoo.odoo.outbox.OutboxSubscriber;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells sellers about new orders. There is no mail or push channel yet, so for
+ * now the notification is logged.
+ */
+@Component
+@Slf4j
+public class SellerOrderNotifier implements OutboxSubscriber<OrderPlacedEvent> {
+
+    @Override
+    public String eventType() {
+        return OrderPlacedEvent.TYPE;
+    }
+
+    @Override
+    public Class<OrderPlacedEvent> payloadType() {
+        return OrderPlacedEvent.class;
+    }
+
+    @Override
+    public void handle(OrderPlacedEvent payload, OutboxEvent event) {
+        log.info("New order {} for seller {}: {} item(s), total {}", payload.getOrderId(), payload.getSellerId(),
+                payload.getItemCount(), payload.getTotalAmount());
+    }
+}
@@ -0,0 +1,45 @@
+package com.odoo.odoo.outbox;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Makes a subscriber's writes effectively once per event, for subscribers whose
+ * writes aren't idempotent on their own (relative UPDATEs, for instance).
+ */
+@Component
+public class OutboxDeliveries {
+
+    private final OutboxDeliveryRepository deliveryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public OutboxDeliveries(OutboxDeliveryRepository deliveryRepository, PlatformTransactionManager transactionManager) {
+        this.deliveryRepository = deliveryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Runs {@code writes} in a new transaction together with a marker for this
+     * event and subscriber, unless an earlier delivery already committed one.
+     * Subscribers run outside the dispatcher's transaction, so this is their own.
+     *
+     * @return whether {@code writes} ran
+     */
+    public boolean runOnce(OutboxEvent event, String subscriber, Runnable writes) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (deliveryRepository.existsByEventIdAndSubscriber(event.getId(), subscriber)) {
+                return false;
+            }
+            deliveryRepository.save(OutboxDelivery.builder()
+                    .eventId(event.getId())
+                    .subscriber(subscriber)
+                    .deliveredAt(LocalDateTime.now())
+                    .build());
+            writes.run();
+            return true;
+        }));
+    }
+}
@@ -0,0 +1,37 @@
+package com.odoo.odoo.outbox;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks an outbox event as applied by one subscriber, written in the same
+ * transaction as the subscriber's own writes so a redelivery can be skipped.
+ */
+@Entity
+@Table(name = "outbox_deliveries",
+        uniqueConstraints = @UniqueConstraint(name = "uk_outbox_delivery", columnNames = {"event_id", "subscriber"}),
+        indexes = @Index(name = "idx_outbox_delivered", columnList = "delivered_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxDelivery {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(nullable = false, length = 64)
+    private String subscriber;
+
+    @Column(name = "delivered_at", nullable = false)
+    private LocalDateTime deliveredAt;
+}
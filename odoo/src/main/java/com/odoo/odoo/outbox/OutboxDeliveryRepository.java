@@ -0,0 +1,19 @@
+package com.odoo.odoo.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface OutboxDeliveryRepository extends JpaRepository<OutboxDelivery, Long> {
+
+    boolean existsByEventIdAndSubscriber(Long eventId, String subscriber);
+
+    @Modifying
+    @Query("DELETE FROM OutboxDelivery d WHERE d.deliveredAt < :before")
+    int deleteDeliveredBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,183 @@
+package com.odoo.odoo.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the outbox in batches. Each batch is locked with SKIP LOCKED, its
+ * events are handed to their subscribers in parallel on virtual threads, and
+ * the batch is marked processed (or rescheduled with backoff) in the same
+ * transaction that locked it. A crash before commit leaves the events pending,
+ * so they are delivered again: delivery is at-least-once.
+ */
+@Component
+@Slf4j
+public class OutboxDispatcher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxDeliveryRepository deliveryRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, List<OutboxSubscriber<?>>> subscribersByType;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Timer deliveryLag;
+    private final Counter dispatched;
+    private final Counter retried;
+    private final Counter failed;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong oldestPendingAgeSeconds = new AtomicLong();
+
+    @Value("${outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.retention-days:7}")
+    private int retentionDays;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            OutboxDeliveryRepository deliveryRepository,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            List<OutboxSubscriber<?>> subscribers,
+                            MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.deliveryRepository = deliveryRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.subscribersByType = subscribers.stream().collect(Collectors.groupingBy(OutboxSubscriber::eventType));
+
+        this.deliveryLag = Timer.builder("outbox.delivery.lag")
+                .description("Time from an event being written to it being delivered")
+                .register(meterRegistry);
+        this.dispatched = Counter.builder("outbox.events").tag("result", "dispatched").register(meterRegistry);
+        this.retried = Counter.builder("outbox.events").tag("result", "retried").register(meterRegistry);
+        this.failed = Counter.builder("outbox.events").tag("result", "failed").register(meterRegistry);
+        Gauge.builder("outbox.pending", pending, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("outbox.oldest.pending.age", oldestPendingAgeSeconds, AtomicLong::get)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:500}")
+    public void drain() {
+        // Keep going while batches come back full
+        int delivered;
+        do {
+            delivered = transactionTemplate.execute(status -> dispatchBatch());
+        } while (delivered == batchSize);
+        updateBacklogGauges();
+    }
+
+    @Scheduled(cron = "${outbox.cleanup-cron:0 30 3 * * *}")
+    public void deleteProcessed() {
+        LocalDateTime before = LocalDateTime.now().minusDays(retentionDays);
+        Integer deleted = transactionTemplate.execute(status -> outboxEventRepository.deleteProcessedBefore(before));
+        // Events are only redelivered while pending, so their markers can go with them
+        Integer markers = transactionTemplate.execute(status -> deliveryRepository.deleteDeliveredBefore(before));
+        log.debug("Deleted {} processed outbox events and {} delivery markers", deleted, markers);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private int dispatchBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.lockDue(LocalDateTime.now(), PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Future<?>> deliveries = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            deliveries.add(workers.submit(() -> {
+                deliver(event);
+                return null;
+            }));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            try {
+                deliveries.get(i).get();
+                event.setStatus(OutboxEvent.Status.PROCESSED);
+                event.setProcessedAt(now);
+                deliveryLag.record(Duration.between(event.getCreatedAt(), now));
+                dispatched.increment();
+            } catch (ExecutionException e) {
+                reschedule(event, e.getCause(), now);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while dispatching outbox events", e);
+            }
+        }
+        return batch.size();
+    }
+
+    private void deliver(OutboxEvent event) throws Exception {
+        for (OutboxSubscriber<?> subscriber : subscribersByType.getOrDefault(event.getEventType(), List.of())) {
+            deliver(subscriber, event);
+        }
+    }
+
+    private <T> void deliver(OutboxSubscriber<T> subscriber, OutboxEvent event) throws Exception {
+        T payload = objectMapper.readValue(event.getPayload(), subscriber.payloadType());
+        subscriber.handle(payload, event);
+    }
+
+    private void reschedule(OutboxEvent event, Throwable cause, LocalDateTime now) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        event.setLastError(truncate(String.valueOf(cause)));
+        if (attempts >= maxAttempts) {
+            event.setStatus(OutboxEvent.Status.FAILED);
+            failed.increment();
+            log.error("Giving up on outbox event {} ({}) after {} attempts", event.getId(), event.getEventType(),
+                    attempts, cause);
+        } else {
+            // Exponential backoff, capped at five minutes
+            long delaySeconds = Math.min(1L << Math.min(attempts, 20), 300);
+            event.setAvailableAt(now.plusSeconds(delaySeconds));
+            retried.increment();
+            log.warn("Outbox event {} ({}) failed, retrying in {}s", event.getId(), event.getEventType(),
+                    delaySeconds, cause);
+        }
+    }
+
+    private void updateBacklogGauges() {
+        pending.set(outboxEventRepository.countByStatus(OutboxEvent.Status.PENDING));
+        LocalDateTime oldest = outboxEventRepository.findOldestPendingCreatedAt();
+        oldestPendingAgeSeconds.set(oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toSeconds());
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+}
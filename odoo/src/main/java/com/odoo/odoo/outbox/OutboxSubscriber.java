@@ -0,0 +1,16 @@
+package com.odoo.odoo.outbox;
+
+/**
+ * Receives outbox events of one type after the transaction that wrote them has
+ * committed. Delivery is at-least-once: an event is redelivered to every
+ * subscriber of its type if any of them fails, so handlers must be idempotent;
+ * {@link OutboxDeliveries} makes writes that aren't idempotent run once.
+ */
+public interface OutboxSubscriber<T> {
+
+    String eventType();
+
+    Class<T> payloadType();
+
+    void handle(T payload, OutboxEvent event);
+}
@@ -3,7 +3,11 @@ package com.odoo.odoo.repository;
 import com.odoo.odoo.model.Cart;
 import com.odoo.odoo.model.CartItem;
 import com.odoo.odoo.model.Product;
+import com.odoo.odoo.repository.projection.CartLine;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,4 +18,14 @@ public interface CartItemRepository extends JpaRepository<CartItem, Long> {
     Optional<CartItem> findByCartAndProduct(Cart cart, Product product);
     List<CartItem> findByCart(Cart cart);
     void deleteByCartAndProduct(Cart cart, Product product);
+
+    List<CartItem> findByCartUserIdOrderByIdAsc(Long userId);
+
+    @Query("SELECT ci.product.id AS productId, ci.quantity AS quantity FROM CartItem ci " +
+           "WHERE ci.cart.user.id = :userId ORDER BY ci.id")
+    List<CartLine> findLinesByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.cart.id IN (SELECT c.id FROM Cart c WHERE c.user.id = :userId)")
+    int deleteByUserId(@Param("userId") Long userId);
 }
@@ -1,13 +1,22 @@
 package com.odoo.odoo.repository;
 
 import com.odoo.odoo.model.Category;
+import com.odoo.odoo.model.Product;
+import com.odoo.odoo.repository.projection.CategoryPopularity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     Optional<Category> findByName(String name);
     boolean existsByName(String name);
+
+    @Query("SELECT c.name AS name, COUNT(p) AS productCount FROM Category c " +
+            "LEFT JOIN c.products p ON p.status = :status GROUP BY c.name")
+    List<CategoryPopularity> findPopularity(@Param("status") Product.ProductStatus status);
 }
@@ -3,15 +3,21 @@ package com.odoo.odoo.repository;
 
 import com.odoo.odoo.model.Order;
 import com.odoo.odoo.model.User;
+import com.odoo.odoo.repository.projection.BuyerSpending;
+import com.odoo.odoo.repository.projection.OrderTotals;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
@@ -25,9 +31,78 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByBuyerId(Long buyerId);
     List<Order> findBySellerId(Long sellerId);
 
-    @Query("SELECT SUM(o.totalCarbonSaved) FROM Order o WHERE o.buyer = :buyer")
-    BigDecimal getTotalCarbonSavedByUser(@Param("buyer") User buyer);
+    // Offset pagination pushed down to the database (LIMIT/OFFSET, no count query)
+    @EntityGraph(attributePaths = {"buyer", "seller"})
+    List<Order> findByBuyerId(Long buyerId, Pageable pageable);
 
-    @Query("SELECT COUNT(o) FROM Order o WHERE o.buyer = :buyer")
-    Long countOrdersByUser(@Param("buyer") User buyer);
+    @EntityGraph(attributePaths = {"buyer", "seller"})
+    List<Order> findBySellerId(Long sellerId, Pageable pageable);
+
+    // Keyset pagination: orders created strictly before the cursor, newest first
+    @EntityGraph(attributePaths = {"buyer", "seller"})
+    @Query("SELECT o FROM Order o WHERE o.buyer.id = :buyerId AND " +
+            "(o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findByBuyerIdBeforeCursor(@Param("buyerId") Long buyerId,
+                                          @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") Long id,
+                                          Pageable pageable);
+
+    @EntityGraph(attributePaths = {"buyer", "seller"})
+    @Query("SELECT o FROM Order o WHERE o.seller.id = :sellerId AND " +
+            "(o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findBySellerIdBeforeCursor(@Param("sellerId") Long sellerId,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
+
+    @EntityGraph(attributePaths = {"buyer", "seller", "items", "items.product"})
+    Optional<Order> findWithDetailsById(Long id);
+
+    // Initializes items and their products for orders already loaded in the persistence context
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items i LEFT JOIN FETCH i.product " +
+            "WHERE o.id IN :orderIds")
+    List<Order> fetchItemsWithProducts(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * Loads items and products for a page of orders in a single extra round trip,
+     * so mapping the page to responses does not trigger per-order lazy loads.
+     */
+    default List<Order> withItems(List<Order> orders) {
+        if (!orders.isEmpty()) {
+            fetchItemsWithProducts(orders.stream().map(Order::getId).collect(Collectors.toList()));
+        }
+        return orders;
+    }
+
+    // Seller dashboard aggregates, computed in the database
+    @Query("SELECT COUNT(o) AS orderCount, " +
+            "COALESCE(SUM(o.totalAmount), 0) AS totalAmount, " +
+            "COALESCE(SUM(o.totalCarbonSaved), 0) AS totalCarbonSaved " +
+            "FROM Order o WHERE o.seller.id = :sellerId")
+    OrderTotals getSellerTotals(@Param("sellerId") Long sellerId);
+
+    // Groups on the buyer_id column only; names are resolved for the top-N rows afterwards
+    @Query("SELECT o.buyer.id AS buyerId, COUNT(o) AS totalOrders, " +
+            "SUM(o.totalAmount) AS totalSpent, MAX(o.createdAt) AS lastOrderDate " +
+            "FROM Order o WHERE o.seller.id = :sellerId " +
+            "GROUP BY o.buyer.id ORDER BY SUM(o.totalAmount) DESC")
+    List<BuyerSpending> findTopBuyersBySeller(@Param("sellerId") Long sellerId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "buyer")
+    List<Order> findTop5BySellerIdOrderByCreatedAtDesc(Long sellerId);
+
+    // Buyer dashboard aggregates and lists, each bounded to what the section shows
+    @Query("SELECT COUNT(o) AS orderCount, " +
+            "COALESCE(SUM(o.totalAmount), 0) AS totalAmount, " +
+            "COALESCE(SUM(o.totalCarbonSaved), 0) AS totalCarbonSaved " +
+            "FROM Order o WHERE o.buyer.id = :buyerId")
+    OrderTotals getBuyerTotals(@Param("buyerId") Long buyerId);
+
+    @EntityGraph(attributePaths = "seller")
+    List<Order> findTop5ByBuyerIdOrderByCreatedAtDesc(Long buyerId);
+
+    @EntityGraph(attributePaths = "seller")
+    List<Order> findByBuyerIdAndStatusNotInOrderByCreatedAtDesc(Long buyerId, Collection<Order.OrderStatus> statuses);
 }
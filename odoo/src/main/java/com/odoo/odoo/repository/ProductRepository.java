@@ -2,28 +2,53 @@ package com.odoo.odoo.repository;
 
 import com.odoo.odoo.model.Product;
 import com.odoo.odoo.model.User;
+import com.odoo.odoo.repository.projection.ListingVersion;
+import com.odoo.odoo.repository.projection.ProductText;
+import com.odoo.odoo.repository.projection.ProductVersion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductStockRepository {
 
     Page<Product> findByStatusOrderByCreatedAtDesc(Product.ProductStatus status, Pageable pageable);
 
     Page<Product> findByCategoryIdAndStatusOrderByCreatedAtDesc(Long categoryId, Product.ProductStatus status, Pageable pageable);
 
-    @Query("SELECT p FROM Product p WHERE p.status = :status AND " +
-            "(LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-            "LOWER(p.description) LIKE LOWER(CONCAT('%', :keyword, '%')))")
-    Page<Product> findByKeywordAndStatus(@Param("keyword") String keyword,
-                                         @Param("status") Product.ProductStatus status,
-                                         Pageable pageable);
+    @Query("SELECT p.id AS id, p.title AS title, p.description AS description " +
+            "FROM Product p WHERE p.status = :status")
+    List<ProductText> findTextByStatus(@Param("status") Product.ProductStatus status);
+
+    @Query("SELECT p.title FROM Product p WHERE p.status = :status")
+    List<String> findTitlesByStatus(@Param("status") Product.ProductStatus status);
+
+    // Version stamps for conditional GETs: every product write bumps updatedAt, and
+    // deletes or category moves change the count, so no products need to be loaded
+
+    @Query("SELECT p.id AS id, p.updatedAt AS updatedAt FROM Product p WHERE p.id = :id")
+    Optional<ProductVersion> findVersionById(@Param("id") Long id);
+
+    // Both stay within idx_products_status_updated / idx_products_category_status_updated
+    @Query("SELECT COUNT(p) AS productCount, MAX(p.updatedAt) AS lastModified FROM Product p " +
+            "WHERE p.status = :status")
+    ListingVersion findListingVersion(@Param("status") Product.ProductStatus status);
+
+    @Query("SELECT COUNT(p) AS productCount, MAX(p.updatedAt) AS lastModified FROM Product p " +
+            "WHERE p.category.id = :categoryId AND p.status = :status")
+    ListingVersion findListingVersionByCategoryId(@Param("categoryId") Long categoryId,
+                                                  @Param("status") Product.ProductStatus status);
+
+    @EntityGraph(attributePaths = {"category", "seller"})
+    List<Product> findByIdIn(Collection<Long> ids);
 
     List<Product> findBySellerAndStatusOrderByCreatedAtDesc(User seller, Product.ProductStatus status);
 
@@ -31,7 +56,5 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     
     // New methods for dashboard functionality
     List<Product> findBySellerIdOrderByCreatedAtDesc(Long sellerId);
-
-    @Query("SELECT COUNT(p) FROM Product p WHERE p.seller = :seller AND p.status = :status")
-    Long countBySellerAndStatus(@Param("seller") User seller, @Param("status") Product.ProductStatus status);
+    long countBySellerId(Long sellerId);
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.odoo.odoo.repository;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ProductStockRepository {
+
+    /**
+     * Takes the given quantities out of stock in one JDBC batch. Each row is only
+     * decremented if it is active and has enough stock left, and a listing whose
+     * stock reaches zero is marked SOLD in the same statement. Returns the ids
+     * that couldn't be reserved; the caller should roll back if there are any.
+     */
+    List<Long> reserveStock(Map<Long, Integer> quantities);
+}
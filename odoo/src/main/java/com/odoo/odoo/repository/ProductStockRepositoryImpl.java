@@ -0,0 +1,58 @@
+package com.odoo.odoo.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class ProductStockRepositoryImpl implements ProductStockRepository {
+
+    // The status is assigned first so the CASE sees the stock before the decrement
+    private static final String RESERVE_SQL = "UPDATE products "
+            + "SET status = CASE WHEN stock = ? THEN 'SOLD' ELSE status END, stock = stock - ?, updated_at = ? "
+            + "WHERE id = ? AND status = 'ACTIVE' AND stock >= ?";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> reserveStock(Map<Long, Integer> quantities) {
+        List<Long> productIds = new ArrayList<>(quantities.keySet());
+        // Lock rows in id order so concurrent checkouts of overlapping carts can't deadlock
+        productIds.sort(null);
+
+        List<Long> unavailable = new ArrayList<>();
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(RESERVE_SQL)) {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                for (Long productId : productIds) {
+                    int quantity = quantities.get(productId);
+                    statement.setInt(1, quantity);
+                    statement.setInt(2, quantity);
+                    statement.setTimestamp(3, now);
+                    statement.setLong(4, productId);
+                    statement.setInt(5, quantity);
+                    statement.addBatch();
+                }
+
+                int[] counts = statement.executeBatch();
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                        throw new IllegalStateException("JDBC driver did not report update counts for stock reservation");
+                    }
+                    if (counts[i] == 0) {
+                        unavailable.add(productIds.get(i));
+                    }
+                }
+            }
+        });
+        return unavailable;
+    }
+}
@@ -0,0 +1,21 @@
+package com.odoo.odoo.repository;
+
+import com.odoo.odoo.model.SellerSalesDaily;
+
+import java.util.Collection;
+
+public interface SalesRollupRepository {
+
+    /**
+     * Adds each row's units, revenue and carbon saved to the stored row with the
+     * same (seller, day, product), creating it if needed, in one JDBC batch of
+     * upserts. Negative values subtract, e.g. for a cancelled order.
+     */
+    void addSales(Collection<SellerSalesDaily> deltas);
+
+    /**
+     * Recomputes the whole rollup from the orders table. Only meant for
+     * backfilling an empty table.
+     */
+    int rebuild();
+}
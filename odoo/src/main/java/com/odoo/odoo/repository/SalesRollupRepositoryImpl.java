@@ -0,0 +1,71 @@
+package com.odoo.odoo.repository;
+
+import com.odoo.odoo.model.SellerSalesDaily;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+public class SalesRollupRepositoryImpl implements SalesRollupRepository {
+
+    private static final String UPSERT_SQL = "INSERT INTO seller_sales_daily "
+            + "(seller_id, sales_date, product_id, units_sold, revenue, carbon_saved) VALUES (?, ?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE units_sold = units_sold + ?, revenue = revenue + ?, carbon_saved = carbon_saved + ?";
+
+    // Items from before carbon_saved was recorded fall back to the product's current footprint
+    private static final String REBUILD_SQL = "INSERT INTO seller_sales_daily "
+            + "(seller_id, sales_date, product_id, units_sold, revenue, carbon_saved) "
+            + "SELECT o.seller_id, CAST(o.created_at AS DATE), i.product_id, SUM(i.quantity), SUM(i.price * i.quantity), "
+            + "SUM(CASE WHEN i.carbon_saved > 0 THEN i.carbon_saved ELSE COALESCE(p.carbon_footprint, 0) * i.quantity END) "
+            + "FROM order_items i JOIN orders o ON o.id = i.order_id JOIN products p ON p.id = i.product_id "
+            + "WHERE o.status <> 'CANCELLED' "
+            + "GROUP BY o.seller_id, CAST(o.created_at AS DATE), i.product_id";
+
+    private static final Comparator<SellerSalesDaily> KEY_ORDER = Comparator
+            .comparing(SellerSalesDaily::getSellerId)
+            .thenComparing(SellerSalesDaily::getSalesDate)
+            .thenComparing(SellerSalesDaily::getProductId);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void addSales(Collection<SellerSalesDaily> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        // Upsert in key order so concurrent checkouts for the same seller can't deadlock
+        List<SellerSalesDaily> rows = new ArrayList<>(deltas);
+        rows.sort(KEY_ORDER);
+
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPSERT_SQL)) {
+                for (SellerSalesDaily row : rows) {
+                    statement.setLong(1, row.getSellerId());
+                    statement.setDate(2, Date.valueOf(row.getSalesDate()));
+                    statement.setLong(3, row.getProductId());
+                    statement.setLong(4, row.getUnitsSold());
+                    statement.setBigDecimal(5, row.getRevenue());
+                    statement.setBigDecimal(6, row.getCarbonSaved());
+                    statement.setLong(7, row.getUnitsSold());
+                    statement.setBigDecimal(8, row.getRevenue());
+                    statement.setBigDecimal(9, row.getCarbonSaved());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
+    @Override
+    public int rebuild() {
+        entityManager.createNativeQuery("DELETE FROM seller_sales_daily").executeUpdate();
+        return entityManager.createNativeQuery(REBUILD_SQL).executeUpdate();
+    }
+}
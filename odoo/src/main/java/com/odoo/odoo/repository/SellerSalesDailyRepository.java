@@ -0,0 +1,52 @@
+package com.odoo.odoo.repository;
+
+import com.odoo.odoo.model.SellerSalesDaily;
+import com.odoo.odoo.repository.projection.DailySales;
+import com.odoo.odoo.repository.projection.ProductSales;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SellerSalesDailyRepository extends JpaRepository<SellerSalesDaily, Long>, SalesRollupRepository {
+
+    // Range scan on (seller_id, sales_date, ...): at most one row per product and day in the range
+    @Query("SELECT s.salesDate AS salesDate, SUM(s.unitsSold) AS unitsSold, " +
+            "SUM(s.revenue) AS revenue, SUM(s.carbonSaved) AS carbonSaved " +
+            "FROM SellerSalesDaily s WHERE s.sellerId = :sellerId AND s.salesDate BETWEEN :from AND :to " +
+            "GROUP BY s.salesDate ORDER BY s.salesDate")
+    List<DailySales> findDailySales(@Param("sellerId") Long sellerId,
+                                    @Param("from") LocalDate from,
+                                    @Param("to") LocalDate to);
+
+    // Range scan on (seller_id, product_id, sales_date): at most one row per day
+    @Query("SELECT s.salesDate AS salesDate, s.unitsSold AS unitsSold, " +
+            "s.revenue AS revenue, s.carbonSaved AS carbonSaved " +
+            "FROM SellerSalesDaily s WHERE s.sellerId = :sellerId AND s.productId = :productId " +
+            "AND s.salesDate BETWEEN :from AND :to ORDER BY s.salesDate")
+    List<DailySales> findProductDailySales(@Param("sellerId") Long sellerId,
+                                           @Param("productId") Long productId,
+                                           @Param("from") LocalDate from,
+                                           @Param("to") LocalDate to);
+
+    // Top products by revenue; groups the seller's rollup rows, never the product catalogue
+    @Query("SELECT s.productId AS productId, SUM(s.unitsSold) AS unitsSold, " +
+            "SUM(s.revenue) AS revenue, SUM(s.carbonSaved) AS carbonSaved " +
+            "FROM SellerSalesDaily s WHERE s.sellerId = :sellerId " +
+            "GROUP BY s.productId HAVING SUM(s.unitsSold) > 0 ORDER BY SUM(s.revenue) DESC, s.productId")
+    List<ProductSales> findTopProducts(@Param("sellerId") Long sellerId, Pageable pageable);
+
+    @Query("SELECT s.productId AS productId, SUM(s.unitsSold) AS unitsSold, " +
+            "SUM(s.revenue) AS revenue, SUM(s.carbonSaved) AS carbonSaved " +
+            "FROM SellerSalesDaily s WHERE s.sellerId = :sellerId AND s.salesDate BETWEEN :from AND :to " +
+            "GROUP BY s.productId HAVING SUM(s.unitsSold) > 0 ORDER BY SUM(s.revenue) DESC, s.productId")
+    List<ProductSales> findTopProducts(@Param("sellerId") Long sellerId,
+                                       @Param("from") LocalDate from,
+                                       @Param("to") LocalDate to,
+                                       Pageable pageable);
+}
@@ -2,9 +2,12 @@ package com.odoo.odoo.repository;
 
 import com.odoo.odoo.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.Optional;
 
 @Repository
@@ -17,4 +20,45 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     @Query("SELECT SUM(u.totalCarbonSaved) FROM User u")
     Double getTotalCarbonSavedByAllUsers();
+
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
+    // Counters are changed relative to their current value, so concurrent writers never overwrite each other
+    @Modifying
+    @Query("UPDATE User u SET u.ordersPlaced = COALESCE(u.ordersPlaced, 0) + :orders, " +
+            "u.totalCarbonSaved = COALESCE(u.totalCarbonSaved, 0) + :carbonSaved, " +
+            "u.sustainabilityPoints = COALESCE(u.sustainabilityPoints, 0) + :points " +
+            "WHERE u.id = :id")
+    int addPurchases(@Param("id") Long id,
+                     @Param("orders") long orders,
+                     @Param("carbonSaved") BigDecimal carbonSaved,
+                     @Param("points") int points);
+
+    @Modifying
+    @Query("UPDATE User u SET u.activeListings = COALESCE(u.activeListings, 0) + :delta WHERE u.id = :id")
+    int addActiveListings(@Param("id") Long id, @Param("delta") long delta);
+
+    @Query("SELECT MAX(u.id) FROM User u")
+    Long findMaxId();
+
+    /**
+     * Recomputes every counter for the users in an id range from the products
+     * and orders tables. Cancelled orders don't count.
+     */
+    @Modifying
+    @Query("UPDATE User u SET " +
+            "u.activeListings = (SELECT COUNT(p) FROM Product p WHERE p.seller.id = u.id " +
+            "AND p.status = com.odoo.odoo.model.Product$ProductStatus.ACTIVE), " +
+            "u.ordersPlaced = (SELECT COUNT(o) FROM Order o WHERE o.buyer.id = u.id " +
+            "AND o.status <> com.odoo.odoo.model.Order$OrderStatus.CANCELLED), " +
+            "u.totalCarbonSaved = (SELECT COALESCE(SUM(o.totalCarbonSaved), 0) FROM Order o WHERE o.buyer.id = u.id " +
+            "AND o.status <> com.odoo.odoo.model.Order$OrderStatus.CANCELLED), " +
+            "u.sustainabilityPoints = (SELECT CAST(COALESCE(SUM(FLOOR(o.totalCarbonSaved * :pointsPerKg)), 0) AS Integer) " +
+            "FROM Order o WHERE o.buyer.id = u.id AND o.status <> com.odoo.odoo.model.Order$OrderStatus.CANCELLED) " +
+            "WHERE u.id BETWEEN :fromId AND :toId")
+    int recomputeCounters(@Param("fromId") Long fromId,
+                          @Param("toId") Long toId,
+                          @Param("pointsPerKg") int pointsPerKg);
 }
\ No newline at end of file
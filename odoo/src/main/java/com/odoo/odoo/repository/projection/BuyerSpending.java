@@ -0,0 +1,11 @@
+package com.odoo.odoo.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface BuyerSpending {
+    Long getBuyerId();
+    Long getTotalOrders();
+    BigDecimal getTotalSpent();
+    LocalDateTime getLastOrderDate();
+}
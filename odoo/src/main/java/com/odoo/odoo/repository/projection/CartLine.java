@@ -0,0 +1,6 @@
+package com.odoo.odoo.repository.projection;
+
+public interface CartLine {
+    Long getProductId();
+    Integer getQuantity();
+}
@@ -0,0 +1,6 @@
+package com.odoo.odoo.repository.projection;
+
+public interface CategoryPopularity {
+    String getName();
+    Long getProductCount();
+}
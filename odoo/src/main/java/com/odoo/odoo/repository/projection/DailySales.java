@@ -0,0 +1,11 @@
+package com.odoo.odoo.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface DailySales {
+    LocalDate getSalesDate();
+    Long getUnitsSold();
+    BigDecimal getRevenue();
+    BigDecimal getCarbonSaved();
+}
@@ -0,0 +1,9 @@
+package com.odoo.odoo.repository.projection;
+
+import java.time.LocalDateTime;
+
+// Changes whenever a product in the listing is added, edited, sold or removed
+public interface ListingVersion {
+    Long getProductCount();
+    LocalDateTime getLastModified();
+}
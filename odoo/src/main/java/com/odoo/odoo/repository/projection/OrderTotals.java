@@ -0,0 +1,9 @@
+package com.odoo.odoo.repository.projection;
+
+import java.math.BigDecimal;
+
+public interface OrderTotals {
+    Long getOrderCount();
+    BigDecimal getTotalAmount();
+    BigDecimal getTotalCarbonSaved();
+}
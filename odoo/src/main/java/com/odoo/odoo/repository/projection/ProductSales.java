@@ -0,0 +1,10 @@
+package com.odoo.odoo.repository.projection;
+
+import java.math.BigDecimal;
+
+public interface ProductSales {
+    Long getProductId();
+    Long getUnitsSold();
+    BigDecimal getRevenue();
+    BigDecimal getCarbonSaved();
+}
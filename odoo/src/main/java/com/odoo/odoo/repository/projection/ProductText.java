@@ -0,0 +1,7 @@
+package com.odoo.odoo.repository.projection;
+
+public interface ProductText {
+    Long getId();
+    String getTitle();
+    String getDescription();
+}
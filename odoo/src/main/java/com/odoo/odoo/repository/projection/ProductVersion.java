@@ -0,0 +1,8 @@
+package com.odoo.odoo.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface ProductVersion {
+    Long getId();
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,184 @@
+package com.odoo.odoo.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over active product titles and descriptions.
+ * Query terms match indexed terms by prefix, every query term has to match,
+ * and results are ranked with BM25 (title occurrences count double).
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 2;
+    private static final double PREFIX_MATCH_WEIGHT = 0.5;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term -> (productId -> weighted term frequency), sorted for prefix range scans
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    // productId -> (term -> weighted term frequency), used to unindex a product
+    private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+    private final Map<Long, Integer> documentLengths = new HashMap<>();
+    private long totalLength;
+
+    public void index(Long productId, String title, String description) {
+        Map<String, Integer> terms = new HashMap<>();
+        TextTokenizer.tokenize(title).forEach(term -> terms.merge(term, TITLE_WEIGHT, Integer::sum));
+        TextTokenizer.tokenize(description).forEach(term -> terms.merge(term, 1, Integer::sum));
+
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(productId);
+            if (terms.isEmpty()) {
+                return;
+            }
+            int length = 0;
+            for (Map.Entry<String, Integer> term : terms.entrySet()) {
+                postings.computeIfAbsent(term.getKey(), t -> new HashMap<>()).put(productId, term.getValue());
+                length += term.getValue();
+            }
+            documents.put(productId, terms);
+            documentLengths.put(productId, length);
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            documentLengths.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of indexed products containing each term.
+     */
+    public Map<String, Integer> documentFrequencies() {
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> frequencies = new HashMap<>(postings.size());
+            postings.forEach((term, docs) -> frequencies.put(term, docs.size()));
+            return frequencies;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of all matching products, best match first. Empty when the query has no terms.
+     */
+    public List<Long> search(String query) {
+        List<String> queryTerms = TextTokenizer.tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty()) {
+                return List.of();
+            }
+
+            double averageLength = (double) totalLength / documents.size();
+            Map<Long, Double> scores = null;
+
+            for (String queryTerm : queryTerms.stream().distinct().toList()) {
+                Map<Long, Double> termScores = new HashMap<>();
+                for (Map.Entry<String, Map<Long, Integer>> entry : postings
+                        .subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).entrySet()) {
+                    double weight = entry.getKey().equals(queryTerm) ? 1.0 : PREFIX_MATCH_WEIGHT;
+                    double idf = idf(entry.getValue().size());
+                    entry.getValue().forEach((productId, frequency) -> {
+                        double length = documentLengths.get(productId);
+                        double tf = frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+                        termScores.merge(productId, weight * idf * tf, Double::sum);
+                    });
+                }
+
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    // Every query term has to match
+                    Map<Long, Double> previous = scores;
+                    scores = new HashMap<>();
+                    for (Map.Entry<Long, Double> match : termScores.entrySet()) {
+                        Double score = previous.get(match.getKey());
+                        if (score != null) {
+                            scores.put(match.getKey(), score + match.getValue());
+                        }
+                    }
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<Long, Double>comparingByValue(Collections.reverseOrder())
+                    .thenComparing(Map.Entry.comparingByKey(Collections.reverseOrder())));
+            return ranked.stream().map(Map.Entry::getKey).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private double idf(int documentFrequency) {
+        int n = documents.size();
+        return Math.log(1 + (n - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private void removeUnlocked(Long productId) {
+        Map<String, Integer> terms = documents.remove(productId);
+        if (terms == null) {
+            return;
+        }
+        terms.keySet().forEach(term -> {
+            Map<Long, Integer> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(productId);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        });
+        totalLength -= documentLengths.remove(productId);
+    }
+}
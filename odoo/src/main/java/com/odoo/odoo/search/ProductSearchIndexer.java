@@ -0,0 +1,41 @@
+package com.odoo.odoo.search;
+
+import com.odoo.odoo.event.ProductChangedEvent;
+import com.odoo.odoo.model.Product;
+import com.odoo.odoo.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps ProductSearchIndex in step with the products table: a full build on
+ * startup, then incremental updates once product changes have committed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchIndexer {
+
+    private final ProductRepository productRepository;
+    private final ProductSearchIndex searchIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        searchIndex.clear();
+        productRepository.findTextByStatus(Product.ProductStatus.ACTIVE)
+                .forEach(product -> searchIndex.index(product.getId(), product.getTitle(), product.getDescription()));
+        log.info("Product search index built with {} products", searchIndex.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.isSearchable()) {
+            searchIndex.index(event.getProductId(), event.getTitle(), event.getDescription());
+        } else {
+            searchIndex.remove(event.getProductId());
+        }
+    }
+}
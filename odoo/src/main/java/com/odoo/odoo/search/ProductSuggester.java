@@ -0,0 +1,110 @@
+package com.odoo.odoo.search;
+
+import com.odoo.odoo.event.ProductChangedEvent;
+import com.odoo.odoo.model.Product;
+import com.odoo.odoo.repository.CategoryRepository;
+import com.odoo.odoo.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Autocomplete over product-title terms and category names. Lookups read an
+ * immutable SuggestionTrie; product changes schedule a debounced rebuild on a
+ * background thread, and the new trie is swapped in with a single volatile write.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSuggester {
+
+    public static final String TYPE_TERM = "TERM";
+    public static final String TYPE_CATEGORY = "CATEGORY";
+
+    private static final int MAX_COMPLETIONS = 10;
+    private static final int MIN_TERM_LENGTH = 2;
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+
+    private final ScheduledExecutorService rebuildExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "suggestion-trie-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    @Value("${search.suggest.rebuild-delay-ms:2000}")
+    private long rebuildDelayMs;
+
+    private volatile SuggestionTrie trie = SuggestionTrie.EMPTY;
+
+    public List<SuggestionTrie.Entry> suggest(String prefix, int limit) {
+        String key = prefix.trim().toLowerCase(Locale.ROOT);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        // limit comes straight from the query string; anything below one still returns a suggestion
+        return trie.complete(key, Math.max(1, Math.min(limit, MAX_COMPLETIONS)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Map<String, Long> termWeights = new HashMap<>();
+        for (String title : productRepository.findTitlesByStatus(Product.ProductStatus.ACTIVE)) {
+            // A term's popularity is the number of active listings with it in the title
+            Set<String> titleTerms = new HashSet<>(TextTokenizer.tokenize(title));
+            for (String term : titleTerms) {
+                if (term.length() >= MIN_TERM_LENGTH) {
+                    termWeights.merge(term, 1L, Long::sum);
+                }
+            }
+        }
+
+        List<SuggestionTrie.Entry> entries = new ArrayList<>(termWeights.size());
+        termWeights.forEach((term, weight) -> entries.add(new SuggestionTrie.Entry(term, term, TYPE_TERM, weight)));
+        categoryRepository.findPopularity(Product.ProductStatus.ACTIVE).forEach(category -> entries.add(
+                new SuggestionTrie.Entry(category.getName().toLowerCase(Locale.ROOT), category.getName(),
+                        TYPE_CATEGORY, category.getProductCount())));
+
+        trie = SuggestionTrie.build(entries, MAX_COMPLETIONS);
+        log.debug("Suggestion trie rebuilt with {} entries", trie.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        // Coalesce bursts of product changes into one rebuild
+        if (rebuildPending.compareAndSet(false, true)) {
+            rebuildExecutor.schedule(() -> {
+                rebuildPending.set(false);
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.error("Failed to rebuild suggestion trie", e);
+                }
+            }, rebuildDelayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+}
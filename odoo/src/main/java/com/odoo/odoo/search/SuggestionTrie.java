@@ -0,0 +1,151 @@
+package com.odoo.odoo.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable radix (path-compressed) trie for autocomplete. Every node keeps its
+ * best completions precomputed at build time, so a lookup costs one walk down
+ * the prefix and never visits the subtree below it.
+ */
+public final class SuggestionTrie {
+
+    public static final SuggestionTrie EMPTY = build(List.of(), 1);
+
+    private static final Comparator<Entry> BY_WEIGHT = Comparator.comparingLong(Entry::getWeight).reversed()
+            .thenComparing(Entry::getKey);
+
+    private final Node root;
+    private final int size;
+
+    private SuggestionTrie(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static final class Entry {
+        private final String key;
+        private final String text;
+        private final String type;
+        private final long weight;
+    }
+
+    /**
+     * Builds a trie over the given entries, keeping up to {@code maxCompletions}
+     * ranked completions per node. When two entries share a key the heavier wins.
+     */
+    public static SuggestionTrie build(Collection<Entry> entries, int maxCompletions) {
+        Builder root = new Builder();
+        int size = 0;
+        for (Entry entry : entries) {
+            if (entry.getKey().isEmpty()) {
+                continue;
+            }
+            Builder node = root;
+            for (int i = 0; i < entry.getKey().length(); i++) {
+                node = node.children.computeIfAbsent(entry.getKey().charAt(i), c -> new Builder());
+            }
+            if (node.entry == null) {
+                size++;
+                node.entry = entry;
+            } else if (entry.getWeight() > node.entry.getWeight()) {
+                node.entry = entry;
+            }
+        }
+        return new SuggestionTrie(root.compress("", maxCompletions), size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public List<Entry> complete(String prefix, int limit) {
+        Node node = root;
+        int position = 0;
+        while (position < prefix.length()) {
+            Node child = node.child(prefix.charAt(position));
+            if (child == null) {
+                return List.of();
+            }
+            int remaining = prefix.length() - position;
+            if (remaining <= child.label.length()) {
+                // The prefix ends on this edge
+                if (!child.label.startsWith(prefix.substring(position))) {
+                    return List.of();
+                }
+                node = child;
+                break;
+            }
+            if (!prefix.startsWith(child.label, position)) {
+                return List.of();
+            }
+            position += child.label.length();
+            node = child;
+        }
+        return Arrays.asList(node.top).subList(0, Math.max(0, Math.min(limit, node.top.length)));
+    }
+
+    private static final class Node {
+        private final String label;
+        private final char[] firstChars;
+        private final Node[] children;
+        private final Entry[] top;
+
+        private Node(String label, char[] firstChars, Node[] children, Entry[] top) {
+            this.label = label;
+            this.firstChars = firstChars;
+            this.children = children;
+            this.top = top;
+        }
+
+        private Node child(char c) {
+            int index = Arrays.binarySearch(firstChars, c);
+            return index >= 0 ? children[index] : null;
+        }
+    }
+
+    private static final class Builder {
+        private final Map<Character, Builder> children = new TreeMap<>();
+        private Entry entry;
+
+        private Node compress(String label, int maxCompletions) {
+            // Merge chains of single-child nodes without an entry into one edge
+            Builder node = this;
+            StringBuilder edge = new StringBuilder(label);
+            while (node.entry == null && node.children.size() == 1 && !edge.isEmpty()) {
+                Map.Entry<Character, Builder> only = node.children.entrySet().iterator().next();
+                edge.append(only.getKey());
+                node = only.getValue();
+            }
+
+            char[] firstChars = new char[node.children.size()];
+            Node[] compressed = new Node[node.children.size()];
+            List<Entry> candidates = new ArrayList<>();
+            if (node.entry != null) {
+                candidates.add(node.entry);
+            }
+
+            int i = 0;
+            for (Map.Entry<Character, Builder> child : node.children.entrySet()) {
+                firstChars[i] = child.getKey();
+                compressed[i] = child.getValue().compress(String.valueOf(child.getKey()), maxCompletions);
+                candidates.addAll(Arrays.asList(compressed[i].top));
+                i++;
+            }
+
+            candidates.sort(BY_WEIGHT);
+            Entry[] top = candidates.subList(0, Math.min(maxCompletions, candidates.size())).toArray(new Entry[0]);
+            return new Node(edge.toString(), firstChars, compressed, top);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.odoo.odoo.security;
+
+import com.odoo.odoo.exception.ResourceNotFoundException;
+import com.odoo.odoo.model.User;
+import com.odoo.odoo.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * The authenticated user for the current request, resolved once from the
+ * principal and shared by every service and controller that injects it.
+ * The id, email and role come straight from the principal; the User entity is
+ * only loaded when a caller needs its state, and at most once per request.
+ */
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class CurrentUser {
+
+    private final UserRepository userRepository;
+
+    private UserPrincipal principal;
+    private User user;
+
+    public UserPrincipal getPrincipal() {
+        if (principal == null) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal userPrincipal)) {
+                throw new AuthenticationCredentialsNotFoundException("No authenticated user");
+            }
+            principal = userPrincipal;
+        }
+        return principal;
+    }
+
+    public Long getId() {
+        return getPrincipal().getId();
+    }
+
+    public String getEmail() {
+        return getPrincipal().getEmail();
+    }
+
+    public boolean isSeller() {
+        return getPrincipal().getRole() == User.UserRole.SELLER;
+    }
+
+    /**
+     * Managed reference for use in associations (e.g. as an order's buyer); does not query.
+     */
+    public User getReference() {
+        return user != null ? user : userRepository.getReferenceById(getId());
+    }
+
+    /**
+     * Fully loaded user entity, fetched on first use.
+     */
+    public User getUser() {
+        if (user == null) {
+            user = userRepository.findById(getId())
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        }
+        return user;
+    }
+}
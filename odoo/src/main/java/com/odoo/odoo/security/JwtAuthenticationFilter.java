@@ -4,6 +4,7 @@ package com.odoo.odoo.security;
 import com.odoo.odoo.util.JwtUtil;
 import com.odoo.odoo.service.UserDetailsServiceImpl;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,7 +12,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -32,11 +32,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
 
         String jwt = getJwtFromRequest(request);
+        Claims claims = StringUtils.hasText(jwt) ? jwtUtil.parseClaims(jwt).orElse(null) : null;
 
-        if (StringUtils.hasText(jwt) && jwtUtil.validateToken(jwt)) {
-            String username = jwtUtil.getUsernameFromToken(jwt);
+        if (claims != null) {
+            UserPrincipal userDetails = UserPrincipal.fromClaims(claims);
+            if (userDetails == null) {
+                userDetails = userDetailsService.loadPrincipal(claims.getSubject());
+            }
 
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
             UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
             authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -2,6 +2,8 @@ package com.odoo.odoo.security;
 
 
 import com.odoo.odoo.model.User;
+import com.odoo.odoo.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import org.springframework.security.core.GrantedAuthority;
@@ -10,6 +12,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
 @Data
 @AllArgsConstructor
@@ -19,19 +22,44 @@ public class UserPrincipal implements UserDetails {
     private String username;
     private String email;
     private String password;
+    private User.UserRole role;
 
     public static UserPrincipal create(User user) {
         return new UserPrincipal(
                 user.getId(),
                 user.getUsername(),
                 user.getEmail(),
-                user.getPassword()
+                user.getPassword(),
+                user.getRole()
+        );
+    }
+
+    /**
+     * Builds the principal from verified token claims. The password is not part of
+     * the token, so principals created this way can't be used to authenticate.
+     * Returns null for tokens issued before identity claims were added.
+     */
+    public static UserPrincipal fromClaims(Claims claims) {
+        Number id = claims.get(JwtUtil.CLAIM_USER_ID, Number.class);
+        String role = claims.get(JwtUtil.CLAIM_ROLE, String.class);
+        if (id == null || role == null) {
+            return null;
+        }
+        return new UserPrincipal(
+                id.longValue(),
+                claims.get(JwtUtil.CLAIM_USERNAME, String.class),
+                claims.getSubject(),
+                null,
+                User.UserRole.valueOf(role)
         );
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
+        if (role == null) {
+            return Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
+        }
+        return List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_" + role.name()));
     }
 
     @Override
@@ -6,6 +6,7 @@ import com.odoo.odoo.dto.response.AuthResponse;
 import com.odoo.odoo.exception.BadRequestException;
 import com.odoo.odoo.model.Cart;
 import com.odoo.odoo.model.User;
+import com.odoo.odoo.repository.CartRepository;
 import com.odoo.odoo.repository.UserRepository;
 import com.odoo.odoo.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
@@ -21,9 +22,11 @@ import org.springframework.transaction.annotation.Transactional;
 public class AuthService {
 
     private final UserRepository userRepository;
+    private final CartRepository cartRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
+    private final UserDetailsServiceImpl userDetailsService;
 
     @Transactional
     public AuthResponse register(RegisterRequest request) {
@@ -49,9 +52,9 @@ public class AuthService {
         Cart cart = Cart.builder()
                 .user(savedUser)
                 .build();
-        savedUser.setCart(cart);
+        cartRepository.save(cart);
 
-        String jwt = jwtUtil.generateToken(savedUser.getEmail());
+        String jwt = jwtUtil.generateToken(savedUser);
 
         return AuthResponse.builder()
                 .token(jwt)
@@ -70,7 +73,9 @@ public class AuthService {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new BadRequestException("Invalid credentials"));
 
-        String jwt = jwtUtil.generateToken(user.getEmail());
+        // A fresh login picks up any change to the user since the cached principal was built
+        userDetailsService.evictPrincipal(user.getEmail());
+        String jwt = jwtUtil.generateToken(user);
 
         return AuthResponse.builder()
                 .token(jwt)
@@ -1,128 +1,148 @@
 package com.odoo.odoo.service;
 
+import com.odoo.odoo.cart.CartStore;
+import com.odoo.odoo.dto.request.BulkCartUpdateRequest;
 import com.odoo.odoo.dto.request.CartItemRequest;
 import com.odoo.odoo.dto.response.CartResponse;
+import com.odoo.odoo.exception.BadRequestException;
 import com.odoo.odoo.exception.ResourceNotFoundException;
-import com.odoo.odoo.model.*;
-import com.odoo.odoo.repository.CartItemRepository;
-import com.odoo.odoo.repository.CartRepository;
+import com.odoo.odoo.model.Product;
 import com.odoo.odoo.repository.ProductRepository;
+import com.odoo.odoo.security.CurrentUser;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class CartService {
 
-    private final CartRepository cartRepository;
-    private final CartItemRepository cartItemRepository;
+    private final CartStore cartStore;
     private final ProductRepository productRepository;
-    private final UserService userService;
+    private final CurrentUser currentUser;
 
+    @Transactional(readOnly = true)
     public CartResponse getCart() {
-        User user = userService.getCurrentUser();
-        Cart cart = getOrCreateCart(user);
-
-        return convertToResponse(cart);
+        Map<Long, Integer> lines = cartStore.getLines(currentUser.getId());
+        return convertToResponse(lines, loadProducts(lines.keySet()));
     }
 
     @Transactional
     public CartResponse addToCart(CartItemRequest request) {
-        User user = userService.getCurrentUser();
-        Cart cart = getOrCreateCart(user);
+        Long userId = currentUser.getId();
 
-        Product product = productRepository.findById(request.getProductId())
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
+        // Load the new product together with the ones already in the cart
+        Set<Long> productIds = new HashSet<>(cartStore.getLines(userId).keySet());
+        productIds.add(request.getProductId());
+        Map<Long, Product> products = loadProducts(productIds);
 
-        if (product.getSeller().getId().equals(user.getId())) {
+        Product product = products.get(request.getProductId());
+        if (product == null) {
+            throw new ResourceNotFoundException("Product not found");
+        }
+        if (product.getStatus() != Product.ProductStatus.ACTIVE) {
+            throw new BadRequestException("This product is no longer available");
+        }
+        if (product.getSeller().getId().equals(userId)) {
             throw new RuntimeException("You cannot add your own product to cart");
         }
 
-        // Check if item already exists in cart
-        CartItem existingItem = cartItemRepository.findByCartAndProduct(cart, product)
-                .orElse(null);
-
-        if (existingItem != null) {
-            existingItem.setQuantity(existingItem.getQuantity() + request.getQuantity());
-            cartItemRepository.save(existingItem);
-        } else {
-            CartItem cartItem = CartItem.builder()
-                    .cart(cart)
-                    .product(product)
-                    .quantity(request.getQuantity())
-                    .build();
-            cartItemRepository.save(cartItem);
-        }
+        Map<Long, Integer> lines = cartStore.update(userId,
+                cart -> cart.merge(product.getId(), request.getQuantity(), Integer::sum));
+        return convertToResponse(lines, products);
+    }
 
-        // Refresh cart to get updated items
-        cart = cartRepository.findById(cart.getId()).orElse(cart);
-        return convertToResponse(cart);
+    /**
+     * Applies several quantity changes in one transaction and renders the cart once.
+     */
+    @Transactional
+    public CartResponse updateCartItems(BulkCartUpdateRequest request) {
+        Long userId = currentUser.getId();
+
+        Map<Long, Integer> deltas = new LinkedHashMap<>();
+        request.getItems().forEach(item -> deltas.merge(item.getProductId(), item.getQuantityDelta(), Integer::sum));
+
+        // Products are loaded and checked up front; the update callback may run under the
+        // store's lock (see WriteBehindCartStore), so it only merges
+        Map<Long, Product> products = new HashMap<>(loadProducts(deltas.keySet()));
+        deltas.forEach((productId, delta) -> {
+            if (delta > 0) {
+                checkAddable(products.get(productId), productId, userId);
+            }
+        });
+
+        Map<Long, Integer> lines = cartStore.update(userId,
+                cart -> deltas.forEach((productId, delta) -> cart.merge(productId, delta, Integer::sum)));
+
+        // Lines that were already in the cart are rendered too
+        Set<Long> missing = new HashSet<>(lines.keySet());
+        missing.removeAll(products.keySet());
+        products.putAll(loadProducts(missing));
+        return convertToResponse(lines, products);
     }
 
     @Transactional
     public CartResponse updateCartItem(Long productId, Integer quantity) {
-        User user = userService.getCurrentUser();
-        Cart cart = getOrCreateCart(user);
-
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
+        Long userId = currentUser.getId();
 
-        CartItem cartItem = cartItemRepository.findByCartAndProduct(cart, product)
-                .orElseThrow(() -> new ResourceNotFoundException("Item not found in cart"));
-
-        if (quantity <= 0) {
-            cartItemRepository.delete(cartItem);
-        } else {
-            cartItem.setQuantity(quantity);
-            cartItemRepository.save(cartItem);
+        if (!cartStore.getLines(userId).containsKey(productId)) {
+            throw new ResourceNotFoundException("Item not found in cart");
         }
 
-        // Refresh cart
-        cart = cartRepository.findById(cart.getId()).orElse(cart);
-        return convertToResponse(cart);
+        // A quantity of zero or less removes the line
+        Map<Long, Integer> lines = cartStore.update(userId, cart -> cart.put(productId, quantity));
+        return convertToResponse(lines, loadProducts(lines.keySet()));
     }
 
     @Transactional
     public void removeFromCart(Long productId) {
-        User user = userService.getCurrentUser();
-        Cart cart = getOrCreateCart(user);
-
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
-
-        cartItemRepository.deleteByCartAndProduct(cart, product);
+        cartStore.update(currentUser.getId(), cart -> cart.remove(productId));
     }
 
     @Transactional
     public void clearCart() {
-        User user = userService.getCurrentUser();
-        Cart cart = getOrCreateCart(user);
-
-        List<CartItem> items = cartItemRepository.findByCart(cart);
-        cartItemRepository.deleteAll(items);
+        cartStore.clear(currentUser.getId());
     }
 
-    private Cart getOrCreateCart(User user) {
-        return cartRepository.findByUser(user)
-                .orElseGet(() -> {
-                    Cart newCart = Cart.builder()
-                            .user(user)
-                            .build();
-                    return cartRepository.save(newCart);
-                });
+    private void checkAddable(Product product, Long productId, Long userId) {
+        if (product == null) {
+            throw new ResourceNotFoundException("Product not found: " + productId);
+        }
+        if (product.getStatus() != Product.ProductStatus.ACTIVE) {
+            throw new BadRequestException("Product is no longer available: " + productId);
+        }
+        if (product.getSeller().getId().equals(userId)) {
+            throw new RuntimeException("You cannot add your own product to cart");
+        }
     }
 
-    private CartResponse convertToResponse(Cart cart) {
-        // Get fresh cart items
-        List<CartItem> cartItems = cartItemRepository.findByCart(cart);
+    private Map<Long, Product> loadProducts(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        return productRepository.findByIdIn(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
 
-        List<CartResponse.CartItemResponse> items = cartItems.stream()
-                .map(this::convertItemToResponse)
+    private CartResponse convertToResponse(Map<Long, Integer> lines, Map<Long, Product> products) {
+        List<CartResponse.CartItemResponse> items = lines.entrySet().stream()
+                .map(line -> {
+                    Product product = products.get(line.getKey());
+                    return product != null ? convertItemToResponse(product, line.getValue()) : null;
+                })
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
 
         BigDecimal totalAmount = items.stream()
@@ -136,7 +156,6 @@ public class CartService {
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
         return CartResponse.builder()
-                .id(cart.getId())
                 .items(items)
                 .totalAmount(totalAmount)
                 .totalCarbonSaved(totalCarbonSaved)
@@ -144,17 +163,14 @@ public class CartService {
                 .build();
     }
 
-    private CartResponse.CartItemResponse convertItemToResponse(CartItem cartItem) {
-        Product product = cartItem.getProduct();
-
+    private CartResponse.CartItemResponse convertItemToResponse(Product product, Integer quantity) {
         return CartResponse.CartItemResponse.builder()
-                .id(cartItem.getId())
                 .productId(product.getId())
                 .title(product.getTitle())
                 .price(product.getPrice())
-                .quantity(cartItem.getQuantity())
+                .quantity(quantity)
                 .imageUrl(product.getImageUrl())
                 .carbonFootprint(product.getCarbonFootprint())
                 .build();
     }
-}
\ No newline at end of file
+}
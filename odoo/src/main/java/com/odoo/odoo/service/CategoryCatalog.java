@@ -0,0 +1,157 @@
+package com.odoo.odoo.service;
+
+import com.odoo.odoo.dto.response.CategoryResponse;
+import com.odoo.odoo.model.Category;
+import com.odoo.odoo.repository.CategoryRepository;
+import com.odoo.odoo.util.CarbonCalculatorUtil;
+import com.odoo.odoo.util.ETags;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-memory copy of the categories table. Readers get an immutable Snapshot
+ * through a single volatile read; a refresh builds a new one and swaps it in.
+ * JPA writes mark the snapshot stale after commit, and a scheduled refresh
+ * picks up rows changed outside the application (e.g. data.sql).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryCatalog {
+
+    private final CategoryRepository categoryRepository;
+
+    private volatile Snapshot snapshot;
+    private volatile boolean stale = true;
+
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null || stale) {
+            return refreshIfStale();
+        }
+        return current;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${categories.refresh-interval-ms:300000}",
+            initialDelayString = "${categories.refresh-interval-ms:300000}")
+    public void reload() {
+        refresh();
+    }
+
+    // Readers that all saw the stale flag wait here, and only the first one reloads
+    private synchronized Snapshot refreshIfStale() {
+        Snapshot current = snapshot;
+        if (current == null || stale) {
+            return refresh();
+        }
+        return current;
+    }
+
+    public synchronized Snapshot refresh() {
+        // Cleared before loading, so a write that lands during the load marks the new snapshot stale again
+        stale = false;
+        Snapshot loaded = new Snapshot(categoryRepository.findAll());
+        Snapshot previous = snapshot;
+        snapshot = loaded;
+        if (previous != null && !previous.etag.equals(loaded.etag)) {
+            log.info("Category catalog changed, {} categories", loaded.responses.size());
+        }
+        return loaded;
+    }
+
+    // Called on JPA writes to categories; the next read reloads once the write has committed
+    public void markStale() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    stale = true;
+                }
+            });
+        } else {
+            stale = true;
+        }
+    }
+
+    @Getter
+    public static final class Snapshot {
+
+        private final Map<Long, Entry> byId;
+        private final Map<String, Entry> byName;
+        private final List<CategoryResponse> responses;
+        // Strong validator over the serialized fields, so it's the same on every instance
+        private final String etag;
+
+        private Snapshot(List<Category> categories) {
+            List<Entry> entries = categories.stream()
+                    .sorted(Comparator.comparing(Category::getId))
+                    .map(Entry::new)
+                    .collect(Collectors.toList());
+            this.byId = entries.stream().collect(Collectors.toUnmodifiableMap(Entry::getId, Function.identity()));
+            this.byName = entries.stream().collect(Collectors.toUnmodifiableMap(
+                    entry -> entry.getName().toLowerCase(Locale.ROOT), Function.identity(), (first, second) -> first));
+            this.responses = entries.stream().map(Entry::toResponse).toList();
+            this.etag = etag(responses);
+        }
+
+        public Entry get(Long id) {
+            return id != null ? byId.get(id) : null;
+        }
+
+        public Entry byName(String name) {
+            return name != null ? byName.get(name.toLowerCase(Locale.ROOT)) : null;
+        }
+
+        private static String etag(List<CategoryResponse> responses) {
+            return ETags.of(responses.stream()
+                    .flatMap(response -> Stream.of(response.getId(), response.getName(),
+                            response.getDescription(), response.getCarbonFactor()))
+                    .toArray());
+        }
+    }
+
+    @Getter
+    public static final class Entry {
+
+        private final Long id;
+        private final String name;
+        private final String description;
+        private final BigDecimal carbonFactor;
+        // Resolved once per refresh instead of on every carbon calculation
+        private final BigDecimal emissionFactor;
+
+        private Entry(Category category) {
+            this.id = category.getId();
+            this.name = category.getName();
+            this.description = category.getDescription();
+            this.carbonFactor = category.getCarbonFactor();
+            this.emissionFactor = CarbonCalculatorUtil.emissionFactorFor(category.getName(), category.getCarbonFactor());
+        }
+
+        public CategoryResponse toResponse() {
+            return CategoryResponse.builder()
+                    .id(id)
+                    .name(name)
+                    .description(description)
+                    .carbonFactor(carbonFactor)
+                    .build();
+        }
+    }
+}
@@ -1,41 +1,66 @@
 package com.odoo.odoo.service;
 
 import com.odoo.odoo.dto.response.CategoryResponse;
+import com.odoo.odoo.exception.ResourceNotFoundException;
 import com.odoo.odoo.model.Category;
 import com.odoo.odoo.repository.CategoryRepository;
+import com.odoo.odoo.util.CarbonCalculatorUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.util.List;
-import java.util.stream.Collectors;
 
+/**
+ * Category reads are served from the in-memory {@link CategoryCatalog};
+ * the database is only hit when the catalog is refreshed.
+ */
 @Service
 @RequiredArgsConstructor
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final CategoryCatalog categoryCatalog;
 
-    public List<Category> getAllCategories() {
-        return categoryRepository.findAll();
+    public List<CategoryResponse> getAllCategoriesResponse() {
+        return categoryCatalog.snapshot().getResponses();
     }
 
-    public List<CategoryResponse> getAllCategoriesResponse() {
-        return categoryRepository.findAll().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    // The response list and its ETag, taken from the same snapshot
+    public CategoryCatalog.Snapshot getCatalog() {
+        return categoryCatalog.snapshot();
+    }
+
+    public CategoryResponse getCategoryResponse(Long id) {
+        CategoryCatalog.Entry entry = categoryCatalog.snapshot().get(id);
+        if (entry == null) {
+            throw new ResourceNotFoundException("Category not found");
+        }
+        return entry.toResponse();
     }
 
+    /**
+     * A reference for associating a product with a category. The id is checked
+     * against the catalog, so no select is issued for the category row.
+     */
     public Category getCategoryById(Long id) {
-        return categoryRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Category not found"));
+        if (categoryCatalog.snapshot().get(id) == null) {
+            throw new ResourceNotFoundException("Category not found");
+        }
+        return categoryRepository.getReferenceById(id);
+    }
+
+    // The category's precomputed emission factor, or the default one for an unknown category
+    public BigDecimal getEmissionFactor(Long id) {
+        CategoryCatalog.Entry entry = categoryCatalog.snapshot().get(id);
+        return entry != null ? entry.getEmissionFactor() : CarbonCalculatorUtil.emissionFactorFor(null, null);
     }
 
-    private CategoryResponse convertToResponse(Category category) {
-        return CategoryResponse.builder()
-                .id(category.getId())
-                .name(category.getName())
-                .description(category.getDescription())
-                .carbonFactor(category.getCarbonFactor())
-                .build();
+    public String getCategoryName(Category category) {
+        if (category == null) {
+            return null;
+        }
+        CategoryCatalog.Entry entry = categoryCatalog.snapshot().get(category.getId());
+        return entry != null ? entry.getName() : category.getName();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,67 @@
+package com.odoo.odoo.service;
+
+import com.odoo.odoo.cache.BoundedCache;
+import com.odoo.odoo.cache.BoundedCacheMetrics;
+import com.odoo.odoo.dto.response.BuyerDashboardResponse;
+import com.odoo.odoo.dto.response.SellerDashboardResponse;
+import com.odoo.odoo.event.OrderChangedEvent;
+import com.odoo.odoo.event.ProductChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Recently built dashboards, keyed by user id. An entry is dropped after commit
+ * of any order change involving that user as buyer or seller, or any change to
+ * one of the seller's products; the TTL only bounds staleness from writes that
+ * bypass those events.
+ */
+@Component
+public class DashboardCache {
+
+    private final BoundedCache<Long, SellerDashboardResponse> sellerDashboards;
+    private final BoundedCache<Long, BuyerDashboardResponse> buyerDashboards;
+
+    public DashboardCache(MeterRegistry meterRegistry,
+                          @Value("${dashboard.cache.max-size:10000}") int maxSize,
+                          @Value("${dashboard.cache.ttl-seconds:300}") long ttlSeconds) {
+        Duration timeToLive = Duration.ofSeconds(ttlSeconds);
+        this.sellerDashboards = BoundedCacheMetrics.monitor(meterRegistry, "sellerDashboard",
+                new BoundedCache<>(maxSize, timeToLive));
+        this.buyerDashboards = BoundedCacheMetrics.monitor(meterRegistry, "buyerDashboard",
+                new BoundedCache<>(maxSize, timeToLive));
+    }
+
+    public SellerDashboardResponse seller(Long sellerId, Supplier<SellerDashboardResponse> loader) {
+        return sellerDashboards.getOrLoad(sellerId, id -> loader.get(),
+                dashboard -> isComplete(dashboard.getUnavailableSections()));
+    }
+
+    public BuyerDashboardResponse buyer(Long buyerId, Supplier<BuyerDashboardResponse> loader) {
+        return buyerDashboards.getOrLoad(buyerId, id -> loader.get(),
+                dashboard -> isComplete(dashboard.getUnavailableSections()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        buyerDashboards.invalidate(event.getBuyerId());
+        sellerDashboards.invalidate(event.getSellerId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getSellerId() != null) {
+            sellerDashboards.invalidate(event.getSellerId());
+        }
+    }
+
+    // Partial dashboards aren't cached, so the next request retries the missing sections
+    private static boolean isComplete(List<String> unavailableSections) {
+        return unavailableSections == null || unavailableSections.isEmpty();
+    }
+}
@@ -0,0 +1,177 @@
+package com.odoo.odoo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Loads independent dashboard sections side by side. Each section runs on its
+ * own virtual thread in its own read-only transaction (so its own connection),
+ * and all of them share one deadline: a dashboard takes as long as its slowest
+ * section, capped at the timeout. A section that fails or misses the deadline
+ * is cancelled and reported as unavailable instead of failing the dashboard.
+ *
+ * <p>Interrupting a section doesn't stop a running query, so each section's
+ * transaction carries the timeout too and the driver cancels the statement.
+ *
+ * <p>To keep most of the connection pool free for checkout and everything
+ * else, only a fixed number of dashboards load at once. A dashboard waits for
+ * a slot within its own deadline and then runs all of its sections together,
+ * so the limit never splits one dashboard's sections into rounds. If no slot
+ * frees up in time, every section is reported as unavailable.
+ *
+ * <p>Sections must not touch request-scoped beans such as {@code CurrentUser};
+ * resolve what they need before forking.
+ */
+@Component
+@Slf4j
+public class DashboardSections {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final TransactionTemplate readOnlyTransaction;
+    private final MeterRegistry meterRegistry;
+    private final long timeoutMillis;
+    // Dashboards loading at once; each holds a connection per section while it loads
+    private final Semaphore slots;
+
+    public DashboardSections(PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${dashboard.section-timeout-ms:2000}") long timeoutMillis,
+                             @Value("${dashboard.max-concurrent-loads:2}") int maxConcurrentLoads) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Transaction timeouts are whole seconds; Hibernate turns it into a JDBC query timeout
+        this.readOnlyTransaction.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMillis + 999)));
+        this.meterRegistry = meterRegistry;
+        this.timeoutMillis = timeoutMillis;
+        this.slots = new Semaphore(maxConcurrentLoads);
+    }
+
+    public Scope open() {
+        return new Scope();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * One dashboard's sections: {@link #fork} them, {@link #join()} once, then
+     * read each {@link Section}. Closing the scope cancels anything still running.
+     */
+    public class Scope implements AutoCloseable {
+
+        private final List<Section<?>> sections = new ArrayList<>();
+        private final List<String> unavailable = new ArrayList<>();
+        private final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        // Waiting for a slot counts against the same deadline
+        private final boolean admitted = acquireSlot(deadline);
+
+        public <T> Section<T> fork(String name, Supplier<T> loader) {
+            if (!admitted) {
+                Section<T> section = new Section<>(name, CompletableFuture.failedFuture(
+                        new TimeoutException("No dashboard slot free for section " + name)));
+                sections.add(section);
+                return section;
+            }
+            Timer.Sample sample = Timer.start(meterRegistry);
+            Future<T> future = executor.submit(() -> {
+                try {
+                    return readOnlyTransaction.execute(status -> loader.get());
+                } finally {
+                    sample.stop(meterRegistry.timer("dashboard.section", "section", name));
+                }
+            });
+            Section<T> section = new Section<>(name, future);
+            sections.add(section);
+            return section;
+        }
+
+        public void join() {
+            for (Section<?> section : sections) {
+                section.await(deadline);
+                if (!section.available) {
+                    unavailable.add(section.name);
+                    Counter.builder("dashboard.section.unavailable")
+                            .tag("section", section.name)
+                            .register(meterRegistry)
+                            .increment();
+                }
+            }
+        }
+
+        // Names of the sections left out of this dashboard
+        public List<String> unavailable() {
+            return unavailable;
+        }
+
+        @Override
+        public void close() {
+            sections.forEach(section -> section.future.cancel(true));
+            if (admitted) {
+                slots.release();
+            }
+        }
+    }
+
+    private boolean acquireSlot(long deadline) {
+        try {
+            return slots.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public static class Section<T> {
+
+        private final String name;
+        private final Future<T> future;
+        private T value;
+        private boolean available;
+
+        private Section(String name, Future<T> future) {
+            this.name = name;
+            this.future = future;
+        }
+
+        // The loaded value, or null if the section failed or timed out
+        public T get() {
+            return value;
+        }
+
+        private void await(long deadlineNanos) {
+            try {
+                value = future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+                available = true;
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                log.warn("Dashboard section {} timed out", name);
+            } catch (ExecutionException e) {
+                log.warn("Dashboard section {} failed", name, e.getCause());
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -4,17 +4,21 @@ import com.odoo.odoo.dto.response.BuyerDashboardResponse;
 import com.odoo.odoo.dto.response.OrderResponse;
 import com.odoo.odoo.dto.response.SellerDashboardResponse;
 import com.odoo.odoo.model.Order;
-import com.odoo.odoo.model.OrderItem;
-import com.odoo.odoo.model.Product;
-import com.odoo.odoo.model.User;
 import com.odoo.odoo.repository.OrderRepository;
 import com.odoo.odoo.repository.ProductRepository;
 import com.odoo.odoo.repository.UserRepository;
+import com.odoo.odoo.repository.projection.BuyerSpending;
+import com.odoo.odoo.repository.projection.OrderTotals;
+import com.odoo.odoo.security.CurrentUser;
+import com.odoo.odoo.util.OrderCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -22,97 +26,157 @@ import java.util.stream.Collectors;
 @Service
 public class DashboardService {
 
+    private static final int TOP_PRODUCTS = 5;
+    private static final List<Order.OrderStatus> CLOSED_STATUSES =
+            List.of(Order.OrderStatus.DELIVERED, Order.OrderStatus.CANCELLED);
+    private static final Sort NEWEST_FIRST = Sort.by("createdAt").descending().and(Sort.by("id").descending());
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CurrentUser currentUser;
+
     @Autowired
     private OrderRepository orderRepository;
 
     @Autowired
     private ProductRepository productRepository;
 
-    public SellerDashboardResponse getSellerDashboard(String userEmail) {
-        User seller = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("Seller not found"));
-
-        // Get seller's orders
-        List<Order> sellerOrders = orderRepository.findBySellerIdOrderByCreatedAtDesc(seller.getId());
-
-        // Calculate total earnings
-        BigDecimal totalEarnings = sellerOrders.stream()
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // Calculate total carbon saved
-        BigDecimal totalCarbonSaved = sellerOrders.stream()
-                .map(Order::getTotalCarbonSaved)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    @Autowired
+    private SalesAnalyticsService salesAnalyticsService;
 
-        // Get seller's products
-        List<Product> sellerProducts = productRepository.findBySellerIdOrderByCreatedAtDesc(seller.getId());
+    @Autowired
+    private DashboardSections dashboardSections;
 
-        // Get recent orders (last 5)
-        List<SellerDashboardResponse.RecentOrderResponse> recentOrders = sellerOrders.stream()
-                .limit(5)
-                .map(order -> SellerDashboardResponse.RecentOrderResponse.builder()
-                        .orderId(order.getId())
-                        .buyerName(order.getBuyer().getFullName())
-                        .totalAmount(order.getTotalAmount())
-                        .status(order.getStatus().toString())
-                        .orderDate(order.getCreatedAt())
-                        .build())
-                .collect(Collectors.toList());
+    @Autowired
+    private DashboardCache dashboardCache;
+
+    /**
+     * Served from DashboardCache until an order or product change touches the
+     * seller. Otherwise totals, recent orders, top products and top buyers are
+     * independent, so they load concurrently; a section that fails or times out
+     * is left out and named in unavailableSections.
+     */
+    public SellerDashboardResponse getSellerDashboard() {
+        Long sellerId = currentUser.getId();
+        return dashboardCache.seller(sellerId, () -> loadSellerDashboard(sellerId));
+    }
 
-        // Calculate product performance
-        List<SellerDashboardResponse.ProductPerformanceResponse> topProducts = calculateProductPerformance(sellerProducts, sellerOrders);
+    public BuyerDashboardResponse getBuyerDashboard() {
+        Long buyerId = currentUser.getId();
+        return dashboardCache.buyer(buyerId, () -> loadBuyerDashboard(buyerId));
+    }
 
-        // Get top buyers
-        List<SellerDashboardResponse.BuyerInsightResponse> topBuyers = calculateTopBuyers(sellerOrders);
+    private SellerDashboardResponse loadSellerDashboard(Long sellerId) {
+        try (DashboardSections.Scope scope = dashboardSections.open()) {
+            // Totals are aggregated in the database instead of summing every order in memory
+            DashboardSections.Section<OrderTotals> totals = scope.fork("totals",
+                    () -> orderRepository.getSellerTotals(sellerId));
+            DashboardSections.Section<Long> productCount = scope.fork("productCount",
+                    () -> productRepository.countBySellerId(sellerId));
+            DashboardSections.Section<List<SellerDashboardResponse.RecentOrderResponse>> recentOrders =
+                    scope.fork("recentOrders", () -> loadSellerRecentOrders(sellerId));
+            // Best sellers by revenue, ranked in the database from the daily sales rollup
+            DashboardSections.Section<List<SellerDashboardResponse.ProductPerformanceResponse>> topProducts =
+                    scope.fork("topProducts", () -> salesAnalyticsService.getTopProducts(sellerId, TOP_PRODUCTS));
+            DashboardSections.Section<List<SellerDashboardResponse.BuyerInsightResponse>> topBuyers =
+                    scope.fork("topBuyers", () -> calculateTopBuyers(sellerId));
+            scope.join();
+
+            OrderTotals sellerTotals = totals.get();
+            return SellerDashboardResponse.builder()
+                    .totalEarnings(sellerTotals != null ? sellerTotals.getTotalAmount() : null)
+                    .totalOrders(sellerTotals != null ? sellerTotals.getOrderCount() : null)
+                    .totalProducts(productCount.get())
+                    .totalCarbonSaved(sellerTotals != null ? sellerTotals.getTotalCarbonSaved() : null)
+                    .recentOrders(recentOrders.get())
+                    .topProducts(topProducts.get())
+                    .topBuyers(topBuyers.get())
+                    .unavailableSections(scope.unavailable())
+                    .build();
+        }
+    }
 
-        return SellerDashboardResponse.builder()
-                .totalEarnings(totalEarnings)
-                .totalOrders((long) sellerOrders.size())
-                .totalProducts((long) sellerProducts.size())
-                .totalCarbonSaved(totalCarbonSaved)
-                .recentOrders(recentOrders)
-                .topProducts(topProducts)
-                .topBuyers(topBuyers)
-                .build();
+    private BuyerDashboardResponse loadBuyerDashboard(Long buyerId) {
+        try (DashboardSections.Scope scope = dashboardSections.open()) {
+            DashboardSections.Section<OrderTotals> totals = scope.fork("totals",
+                    () -> orderRepository.getBuyerTotals(buyerId));
+            // Get active orders (pending, processing, shipped)
+            DashboardSections.Section<List<BuyerDashboardResponse.OrderSummaryResponse>> activeOrders =
+                    scope.fork("activeOrders", () -> toOrderSummaries(orderRepository
+                            .findByBuyerIdAndStatusNotInOrderByCreatedAtDesc(buyerId, CLOSED_STATUSES)));
+            DashboardSections.Section<List<BuyerDashboardResponse.OrderSummaryResponse>> recentOrders =
+                    scope.fork("recentOrders", () -> toOrderSummaries(orderRepository
+                            .findTop5ByBuyerIdOrderByCreatedAtDesc(buyerId)));
+            scope.join();
+
+            OrderTotals buyerTotals = totals.get();
+            BigDecimal personalCarbonSaved = buyerTotals != null ? buyerTotals.getTotalCarbonSaved() : null;
+            return BuyerDashboardResponse.builder()
+                    .totalPurchases(buyerTotals != null ? buyerTotals.getOrderCount() : null)
+                    .totalSpent(buyerTotals != null ? buyerTotals.getTotalAmount() : null)
+                    .personalCarbonSaved(personalCarbonSaved)
+                    .activeOrders(activeOrders.get())
+                    .recentOrders(recentOrders.get())
+                    .savedProducts(List.of()) // Can be implemented with favorites/wishlist
+                    .sustainabilityAchievements(personalCarbonSaved != null
+                            ? calculateSustainabilityAchievements(personalCarbonSaved) : null)
+                    .unavailableSections(scope.unavailable())
+                    .build();
+        }
     }
 
-    public BuyerDashboardResponse getBuyerDashboard(String userEmail) {
-        User buyer = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("Buyer not found"));
+    @Transactional(readOnly = true)
+    public List<OrderResponse> getSellerOrders(int page, int size, String cursor) {
+        Long sellerId = currentUser.getId();
+
+        List<Order> orders;
+        if (cursor != null) {
+            OrderCursor after = OrderCursor.decode(cursor);
+            orders = orderRepository.findBySellerIdBeforeCursor(sellerId,
+                    after.getCreatedAt(), after.getId(), PageRequest.of(0, size));
+        } else {
+            orders = orderRepository.findBySellerId(sellerId, PageRequest.of(page, size, NEWEST_FIRST));
+        }
 
-        // Get buyer's orders
-        List<Order> buyerOrders = orderRepository.findByBuyerIdOrderByCreatedAtDesc(buyer.getId());
+        return orderRepository.withItems(orders).stream()
+                .map(this::convertToOrderResponse)
+                .collect(Collectors.toList());
+    }
 
-        // Calculate total spent
-        BigDecimal totalSpent = buyerOrders.stream()
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    @Transactional(readOnly = true)
+    public List<OrderResponse> getBuyerOrders(int page, int size, String cursor) {
+        Long buyerId = currentUser.getId();
+
+        List<Order> orders;
+        if (cursor != null) {
+            OrderCursor after = OrderCursor.decode(cursor);
+            orders = orderRepository.findByBuyerIdBeforeCursor(buyerId,
+                    after.getCreatedAt(), after.getId(), PageRequest.of(0, size));
+        } else {
+            orders = orderRepository.findByBuyerId(buyerId, PageRequest.of(page, size, NEWEST_FIRST));
+        }
 
-        // Calculate personal carbon saved
-        BigDecimal personalCarbonSaved = buyerOrders.stream()
-                .map(Order::getTotalCarbonSaved)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return orderRepository.withItems(orders).stream()
+                .map(this::convertToOrderResponse)
+                .collect(Collectors.toList());
+    }
 
-        // Get active orders (pending, processing, shipped)
-        List<BuyerDashboardResponse.OrderSummaryResponse> activeOrders = buyerOrders.stream()
-                .filter(order -> order.getStatus() != Order.OrderStatus.DELIVERED && 
-                               order.getStatus() != Order.OrderStatus.CANCELLED)
-                .map(order -> BuyerDashboardResponse.OrderSummaryResponse.builder()
+    private List<SellerDashboardResponse.RecentOrderResponse> loadSellerRecentOrders(Long sellerId) {
+        return orderRepository.findTop5BySellerIdOrderByCreatedAtDesc(sellerId).stream()
+                .map(order -> SellerDashboardResponse.RecentOrderResponse.builder()
                         .orderId(order.getId())
-                        .sellerName(order.getSeller().getFullName())
+                        .buyerName(order.getBuyer().getFullName())
                         .totalAmount(order.getTotalAmount())
                         .status(order.getStatus().toString())
                         .orderDate(order.getCreatedAt())
                         .build())
                 .collect(Collectors.toList());
+    }
 
-        // Get recent orders (last 5)
-        List<BuyerDashboardResponse.OrderSummaryResponse> recentOrders = buyerOrders.stream()
-                .limit(5)
+    private List<BuyerDashboardResponse.OrderSummaryResponse> toOrderSummaries(List<Order> orders) {
+        return orders.stream()
                 .map(order -> BuyerDashboardResponse.OrderSummaryResponse.builder()
                         .orderId(order.getId())
                         .sellerName(order.getSeller().getFullName())
@@ -121,95 +185,33 @@ public class DashboardService {
                         .orderDate(order.getCreatedAt())
                         .build())
                 .collect(Collectors.toList());
-
-        // Calculate sustainability achievements
-        BuyerDashboardResponse.SustainabilityAchievements achievements = calculateSustainabilityAchievements(personalCarbonSaved, buyerOrders.size());
-
-        return BuyerDashboardResponse.builder()
-                .totalPurchases((long) buyerOrders.size())
-                .totalSpent(totalSpent)
-                .personalCarbonSaved(personalCarbonSaved)
-                .activeOrders(activeOrders)
-                .recentOrders(recentOrders)
-                .savedProducts(List.of()) // Can be implemented with favorites/wishlist
-                .sustainabilityAchievements(achievements)
-                .build();
     }
 
-    public List<OrderResponse> getSellerOrders(String userEmail, int page, int size) {
-        User seller = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("Seller not found"));
-
-        List<Order> orders = orderRepository.findBySellerIdOrderByCreatedAtDesc(seller.getId());
-
-        return orders.stream()
-                .skip((long) page * size)
-                .limit(size)
-                .map(this::convertToOrderResponse)
-                .collect(Collectors.toList());
-    }
-
-    public List<OrderResponse> getBuyerOrders(String userEmail, int page, int size) {
-        User buyer = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("Buyer not found"));
-
-        List<Order> orders = orderRepository.findByBuyerIdOrderByCreatedAtDesc(buyer.getId());
-
-        return orders.stream()
-                .skip((long) page * size)
-                .limit(size)
-                .map(this::convertToOrderResponse)
-                .collect(Collectors.toList());
-    }
-
-    private List<SellerDashboardResponse.ProductPerformanceResponse> calculateProductPerformance(
-            List<Product> products, List<Order> orders) {
-        
-        Map<Long, Long> productSales = orders.stream()
-                .flatMap(order -> order.getItems().stream())
-                .collect(Collectors.groupingBy(
-                        item -> item.getProduct().getId(),
-                        Collectors.summingLong(OrderItem::getQuantity)
-                ));
-
-        return products.stream()
-                .limit(5) // Top 5 products
-                .map(product -> SellerDashboardResponse.ProductPerformanceResponse.builder()
-                        .productId(product.getId())
-                        .productTitle(product.getTitle())
-                        .totalSales(productSales.getOrDefault(product.getId(), 0L).intValue())
-                        .revenue(product.getPrice().multiply(BigDecimal.valueOf(productSales.getOrDefault(product.getId(), 0L))))
-                        .carbonSaved(product.getCarbonFootprint().multiply(BigDecimal.valueOf(productSales.getOrDefault(product.getId(), 0L))))
-                        .build())
-                .collect(Collectors.toList());
-    }
+    private List<SellerDashboardResponse.BuyerInsightResponse> calculateTopBuyers(Long sellerId) {
+        List<BuyerSpending> topBuyers = orderRepository.findTopBuyersBySeller(sellerId, PageRequest.of(0, 5));
+        if (topBuyers.isEmpty()) {
+            return List.of();
+        }
 
-    private List<SellerDashboardResponse.BuyerInsightResponse> calculateTopBuyers(List<Order> orders) {
-        Map<User, BigDecimal> buyerSpending = orders.stream()
-                .collect(Collectors.groupingBy(
-                        Order::getBuyer,
-                        Collectors.reducing(BigDecimal.ZERO, Order::getTotalAmount, BigDecimal::add)
-                ));
-
-        return buyerSpending.entrySet().stream()
-                .sorted(Map.Entry.<User, BigDecimal>comparingByValue().reversed())
-                .limit(5) // Top 5 buyers
-                .map(entry -> SellerDashboardResponse.BuyerInsightResponse.builder()
-                        .buyerId(entry.getKey().getId())
-                        .buyerName(entry.getKey().getFullName())
-                        .totalSpent(entry.getValue())
-                        .totalOrders((int) orders.stream().filter(order -> order.getBuyer().equals(entry.getKey())).count())
-                        .lastOrderDate(orders.stream()
-                                .filter(order -> order.getBuyer().equals(entry.getKey()))
-                                .map(Order::getCreatedAt)
-                                .max(LocalDateTime::compareTo)
-                                .orElse(null))
+        Map<Long, String> buyerNames = new HashMap<>();
+        userRepository.findAllById(topBuyers.stream()
+                        .map(BuyerSpending::getBuyerId)
+                        .collect(Collectors.toList()))
+                .forEach(user -> buyerNames.put(user.getId(), user.getFullName()));
+
+        return topBuyers.stream()
+                .map(buyer -> SellerDashboardResponse.BuyerInsightResponse.builder()
+                        .buyerId(buyer.getBuyerId())
+                        .buyerName(buyerNames.get(buyer.getBuyerId()))
+                        .totalSpent(buyer.getTotalSpent())
+                        .totalOrders(buyer.getTotalOrders().intValue())
+                        .lastOrderDate(buyer.getLastOrderDate())
                         .build())
                 .collect(Collectors.toList());
     }
 
     private BuyerDashboardResponse.SustainabilityAchievements calculateSustainabilityAchievements(
-            BigDecimal carbonSaved, int totalOrders) {
+            BigDecimal carbonSaved) {
         
         String level = "Eco Beginner";
         String nextLevel = "Eco Explorer";
@@ -0,0 +1,191 @@
+package com.odoo.odoo.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.odoo.odoo.cache.BoundedCache;
+import com.odoo.odoo.exception.BadRequestException;
+import com.odoo.odoo.exception.ConflictException;
+import com.odoo.odoo.model.IdempotencyRecord;
+import com.odoo.odoo.repository.IdempotencyRecordRepository;
+import com.odoo.odoo.security.CurrentUser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Runs a request at most once per Idempotency-Key and user. The response is
+ * stored in the same transaction as the request's own writes, so either both
+ * commit or neither does, and a retry with the same key gets the stored
+ * response back. Recent responses are served from a bounded in-memory cache;
+ * the idempotency_records table covers restarts and other instances.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final CurrentUser currentUser;
+    private final ObjectMapper objectMapper;
+    private final Duration timeToLive;
+    private final BoundedCache<String, IdempotencyRecord> recentRecords;
+    private final Map<String, Boolean> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyRecordRepository recordRepository,
+                              CurrentUser currentUser,
+                              ObjectMapper objectMapper,
+                              @Value("${idempotency.ttl-hours:24}") long ttlHours,
+                              @Value("${idempotency.cache.max-size:10000}") int cacheSize) {
+        this.recordRepository = recordRepository;
+        this.currentUser = currentUser;
+        this.objectMapper = objectMapper;
+        this.timeToLive = Duration.ofHours(ttlHours);
+        this.recentRecords = new BoundedCache<>(cacheSize, timeToLive);
+    }
+
+    /**
+     * Returns the stored response when {@code key} was already used for this
+     * request, otherwise runs {@code action} and stores its response. Must be
+     * called inside the transaction that performs the action's writes.
+     */
+    public <T> T execute(String key, Object request, Class<T> responseType, Supplier<T> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > 255) {
+            throw new BadRequestException("Idempotency-Key must be between 1 and 255 characters");
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Idempotent requests must run inside a transaction");
+        }
+
+        Long userId = currentUser.getId();
+        String cacheKey = userId + ":" + key;
+        String requestHash = hash(request);
+
+        LocalDateTime now = LocalDateTime.now();
+        Optional<IdempotencyRecord> previous = findRecord(userId, key, cacheKey);
+        if (previous.isPresent() && previous.get().getExpiresAt().isAfter(now)) {
+            return replay(previous.get(), requestHash, responseType);
+        }
+
+        if (inFlight.putIfAbsent(cacheKey, Boolean.TRUE) != null) {
+            throw new ConflictException("A request with this Idempotency-Key is already in progress");
+        }
+
+        try {
+            if (previous.isPresent()) {
+                // Frees the unique key now rather than waiting for deleteExpired
+                recordRepository.deleteExpired(userId, key, now);
+            }
+            T response = action.get();
+            // The action's own writes fail here, with their own exception, rather than in the flush below
+            recordRepository.flush();
+
+            LocalDateTime storedAt = LocalDateTime.now();
+            IdempotencyRecord record = IdempotencyRecord.builder()
+                    .userId(userId)
+                    .idempotencyKey(key)
+                    .requestHash(requestHash)
+                    .responseBody(toJson(response))
+                    .createdAt(storedAt)
+                    .expiresAt(storedAt.plus(timeToLive))
+                    .build();
+            store(record);
+            registerCompletion(cacheKey, record);
+            return response;
+        } catch (RuntimeException e) {
+            inFlight.remove(cacheKey);
+            throw e;
+        }
+    }
+
+    @Scheduled(cron = "${idempotency.cleanup-cron:0 15 * * * *}")
+    @Transactional
+    public void deleteExpired() {
+        int deleted = recordRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.debug("Deleted {} expired idempotency records", deleted);
+        }
+    }
+
+    private Optional<IdempotencyRecord> findRecord(Long userId, String key, String cacheKey) {
+        IdempotencyRecord cached = recentRecords.get(cacheKey);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<IdempotencyRecord> stored = recordRepository.findByUserIdAndIdempotencyKey(userId, key);
+        stored.filter(record -> record.getExpiresAt().isAfter(LocalDateTime.now()))
+                .ifPresent(record -> recentRecords.put(cacheKey, record, expiresAtMillis(record)));
+        return stored;
+    }
+
+    private void store(IdempotencyRecord record) {
+        try {
+            // Flush now so a duplicate from another instance fails here, rolling back this request's writes
+            recordRepository.saveAndFlush(record);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("A request with this Idempotency-Key is already in progress");
+        }
+    }
+
+    private String toJson(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not store idempotent response", e);
+        }
+    }
+
+    private <T> T replay(IdempotencyRecord record, String requestHash, Class<T> responseType) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new BadRequestException("Idempotency-Key was already used for a different request");
+        }
+        try {
+            return objectMapper.readValue(record.getResponseBody(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read stored idempotent response", e);
+        }
+    }
+
+    private void registerCompletion(String cacheKey, IdempotencyRecord record) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                // Only a committed response may be replayed
+                if (status == STATUS_COMMITTED) {
+                    recentRecords.put(cacheKey, record, expiresAtMillis(record));
+                }
+                inFlight.remove(cacheKey);
+            }
+        });
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not hash idempotent request", e);
+        }
+    }
+
+    private static long expiresAtMillis(IdempotencyRecord record) {
+        return record.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,54 @@
+package com.odoo.odoo.service;
+
+import com.odoo.odoo.event.OrderChangedEvent;
+import com.odoo.odoo.event.OrderPlacedEvent;
+import com.odoo.odoo.outbox.OutboxDeliveries;
+import com.odoo.odoo.outbox.OutboxEvent;
+import com.odoo.odoo.outbox.OutboxSubscriber;
+import com.odoo.odoo.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Applies a placed order to the figures derived from it (the buyer's and
+ * seller's counters and the seller's sales rollup) once checkout has
+ * committed, so checkout doesn't pay for them. Both are relative updates, so
+ * each event is applied once even though delivery is at-least-once.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderFiguresSubscriber implements OutboxSubscriber<OrderPlacedEvent> {
+
+    private static final String NAME = "orderFigures";
+
+    private final OutboxDeliveries deliveries;
+    private final OrderRepository orderRepository;
+    private final UserCounterService userCounterService;
+    private final SalesAnalyticsService salesAnalyticsService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public String eventType() {
+        return OrderPlacedEvent.TYPE;
+    }
+
+    @Override
+    public Class<OrderPlacedEvent> payloadType() {
+        return OrderPlacedEvent.class;
+    }
+
+    @Override
+    public void handle(OrderPlacedEvent payload, OutboxEvent event) {
+        deliveries.runOnce(event, NAME, () -> orderRepository.findWithDetailsById(payload.getOrderId())
+                .ifPresent(order -> {
+                    userCounterService.orderPlaced(order, Objects.requireNonNullElse(payload.getSoldOutListings(), 0L));
+                    salesAnalyticsService.ordersPlaced(List.of(order));
+                    // Dashboards built before the figures landed are dropped after this commits
+                    eventPublisher.publishEvent(OrderChangedEvent.of(order));
+                }));
+    }
+}
@@ -1,14 +1,23 @@
 package com.odoo.odoo.service;
 
+import com.odoo.odoo.cart.CartStore;
 import com.odoo.odoo.dto.request.PlaceOrderRequest;
+import com.odoo.odoo.dto.response.CheckoutResponse;
 import com.odoo.odoo.dto.response.OrderResponse;
+import com.odoo.odoo.event.OrderChangedEvent;
+import com.odoo.odoo.event.OrderPlacedEvent;
+import com.odoo.odoo.event.ProductChangedEvent;
+import com.odoo.odoo.event.ProductStockChangedEvent;
+import com.odoo.odoo.exception.BadRequestException;
 import com.odoo.odoo.model.*;
-import com.odoo.odoo.repository.CartRepository;
+import com.odoo.odoo.outbox.OutboxPublisher;
 import com.odoo.odoo.repository.OrderRepository;
 import com.odoo.odoo.repository.ProductRepository;
-import com.odoo.odoo.repository.UserRepository;
+import com.odoo.odoo.security.CurrentUser;
 import com.odoo.odoo.util.CarbonCalculatorUtil;
+import com.odoo.odoo.util.OrderCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -17,7 +26,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,10 +40,10 @@ public class OrderService {
     private OrderRepository orderRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private CurrentUser currentUser;
 
     @Autowired
-    private CartRepository cartRepository;
+    private CartStore cartStore;
 
     @Autowired
     private ProductRepository productRepository;
@@ -38,44 +51,120 @@ public class OrderService {
     @Autowired
     private CarbonCalculatorUtil carbonCalculatorUtil;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private OutboxPublisher outboxPublisher;
+
+    @Autowired
+    private UserCounterService userCounterService;
+
+    @Autowired
+    private SalesAnalyticsService salesAnalyticsService;
+
+    /**
+     * Places one order per seller in the cart, once per idempotency key; a retry
+     * with the same key gets the original response back. A null key places the
+     * orders unconditionally.
+     */
     @Transactional
-    public OrderResponse placeOrder(String userEmail, PlaceOrderRequest request) {
-        User buyer = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public CheckoutResponse placeOrder(PlaceOrderRequest request, String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, request, CheckoutResponse.class, () -> createOrders(request));
+    }
+
+    private CheckoutResponse createOrders(PlaceOrderRequest request) {
+        User buyer = currentUser.getReference();
 
-        // Get cart items for the buyer
-        List<CartItem> cartItems = cartRepository.findByBuyerId(buyer.getId());
-        if (cartItems.isEmpty()) {
+        // Get cart lines for the buyer
+        Map<Long, Integer> lines = cartStore.getLines(buyer.getId());
+        if (lines.isEmpty()) {
             throw new RuntimeException("Cart is empty");
         }
 
-        // Group cart items by seller
-        List<Order> orders = cartItems.stream()
-                .collect(Collectors.groupingBy(item -> item.getProduct().getSeller()))
-                .entrySet().stream()
-                .map(entry -> createOrderForSeller(buyer, entry.getKey(), entry.getValue(), request))
-                .collect(Collectors.toList());
+        // Reserve stock before loading the products, so they're read with their new stock and status
+        List<Long> unavailable = productRepository.reserveStock(lines);
+        if (!unavailable.isEmpty()) {
+            String titles = productRepository.findAllById(unavailable).stream()
+                    .map(Product::getTitle)
+                    .collect(Collectors.joining(", "));
+            throw new BadRequestException("Some items in your cart are no longer available: " + titles);
+        }
+        eventPublisher.publishEvent(new ProductStockChangedEvent(List.copyOf(lines.keySet())));
+
+        List<Product> products = productRepository.findByIdIn(lines.keySet());
+
+        // One pass over the lines builds every seller's order and all the totals
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Order> ordersBySeller = new LinkedHashMap<>();
+        Map<Long, Long> soldOutBySeller = new HashMap<>();
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        BigDecimal totalCarbonSaved = BigDecimal.ZERO;
+        int itemCount = 0;
+        for (Product product : products) {
+            Order order = ordersBySeller.computeIfAbsent(product.getSeller().getId(),
+                    sellerId -> newOrder(buyer, product.getSeller(), request, now));
+
+            int quantity = lines.get(product.getId());
+            BigDecimal amount = product.getPrice().multiply(BigDecimal.valueOf(quantity));
+            BigDecimal carbonSaved = product.getCarbonFootprint() != null
+                    ? product.getCarbonFootprint().multiply(BigDecimal.valueOf(quantity))
+                    : BigDecimal.ZERO;
+
+            OrderItem orderItem = new OrderItem();
+            orderItem.setOrder(order);
+            orderItem.setProduct(product);
+            orderItem.setQuantity(quantity);
+            orderItem.setPrice(product.getPrice());
+            orderItem.setCarbonSaved(carbonSaved);
+            order.getItems().add(orderItem);
+            order.setTotalAmount(order.getTotalAmount().add(amount));
+            order.setTotalCarbonSaved(order.getTotalCarbonSaved().add(carbonSaved));
+
+            totalAmount = totalAmount.add(amount);
+            totalCarbonSaved = totalCarbonSaved.add(carbonSaved);
+            itemCount += quantity;
+
+            if (product.getStatus() == Product.ProductStatus.SOLD) {
+                soldOutBySeller.merge(product.getSeller().getId(), 1L, Long::sum);
+                eventPublisher.publishEvent(ProductChangedEvent.of(ProductChangedEvent.ChangeType.UPDATED, product));
+            }
+        }
+
+        // Orders and items go out in one batched flush
+        List<Order> orders = orderRepository.saveAll(ordersBySeller.values());
 
-        // Save all orders
-        orders = orderRepository.saveAll(orders);
+        // Counters, the sales rollup and notifications are updated from the outbox after commit
+        orders.forEach(order -> {
+            long soldOut = soldOutBySeller.getOrDefault(order.getSeller().getId(), 0L);
+            outboxPublisher.publish(OrderPlacedEvent.TYPE, order.getId(), OrderPlacedEvent.of(order, soldOut));
+            eventPublisher.publishEvent(OrderChangedEvent.of(order));
+        });
 
         // Clear the cart after successful order placement
-        cartRepository.deleteByBuyerId(buyer.getId());
+        cartStore.clear(buyer.getId());
 
-        // Return the first order response (if multiple sellers, you might want to return a list)
-        return convertToOrderResponse(orders.get(0));
+        return CheckoutResponse.builder()
+                .orders(orders.stream().map(this::convertToOrderResponse).collect(Collectors.toList()))
+                .totalAmount(totalAmount)
+                .totalCarbonSaved(totalCarbonSaved)
+                .itemCount(itemCount)
+                .build();
     }
 
-    public OrderResponse getOrderById(Long orderId, String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    @Transactional(readOnly = true)
+    public OrderResponse getOrderById(Long orderId) {
+        Long userId = currentUser.getId();
 
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findWithDetailsById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
 
         // Check if user is authorized to view this order
-        if (!order.getBuyer().getId().equals(user.getId()) && 
-            !order.getSeller().getId().equals(user.getId())) {
+        if (!order.getBuyer().getId().equals(userId) &&
+            !order.getSeller().getId().equals(userId)) {
             throw new RuntimeException("Not authorized to view this order");
         }
 
@@ -83,35 +172,43 @@ public class OrderService {
     }
 
     @Transactional
-    public OrderResponse updateOrderStatus(Long orderId, Order.OrderStatus status, String userEmail) {
-        User seller = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public OrderResponse updateOrderStatus(Long orderId, Order.OrderStatus status) {
+        Long sellerId = currentUser.getId();
 
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findWithDetailsById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
 
         // Only sellers can update order status
-        if (!order.getSeller().getId().equals(seller.getId())) {
+        if (!order.getSeller().getId().equals(sellerId)) {
             throw new RuntimeException("Only the seller can update order status");
         }
 
+        Order.OrderStatus previous = order.getStatus();
         order.setStatus(status);
         order = orderRepository.save(order);
 
+        if (status == Order.OrderStatus.CANCELLED && previous != Order.OrderStatus.CANCELLED) {
+            userCounterService.orderCancelled(order);
+            salesAnalyticsService.orderCancelled(order);
+        } else if (previous == Order.OrderStatus.CANCELLED && status != Order.OrderStatus.CANCELLED) {
+            userCounterService.orderReinstated(order);
+            salesAnalyticsService.orderReinstated(order);
+        }
+        eventPublisher.publishEvent(OrderChangedEvent.of(order));
+
         return convertToOrderResponse(order);
     }
 
     @Transactional
-    public void cancelOrder(Long orderId, String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public void cancelOrder(Long orderId) {
+        Long userId = currentUser.getId();
 
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
 
         // Both buyer and seller can cancel orders, but only if not delivered
-        if (!order.getBuyer().getId().equals(user.getId()) && 
-            !order.getSeller().getId().equals(user.getId())) {
+        if (!order.getBuyer().getId().equals(userId) &&
+            !order.getSeller().getId().equals(userId)) {
             throw new RuntimeException("Not authorized to cancel this order");
         }
 
@@ -119,68 +216,54 @@ public class OrderService {
             throw new RuntimeException("Cannot cancel delivered order");
         }
 
+        if (order.getStatus() == Order.OrderStatus.CANCELLED) {
+            return;
+        }
+
         order.setStatus(Order.OrderStatus.CANCELLED);
         orderRepository.save(order);
+        userCounterService.orderCancelled(order);
+        salesAnalyticsService.orderCancelled(order);
+        eventPublisher.publishEvent(OrderChangedEvent.of(order));
     }
 
-    public List<OrderResponse> getUserOrders(String userEmail, int page, int size) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    @Transactional(readOnly = true)
+    public List<OrderResponse> getUserOrders(int page, int size, String cursor) {
+        Long userId = currentUser.getId();
+        boolean seller = currentUser.isSeller();
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        
         // Get orders where user is either buyer or seller
         List<Order> orders;
-        if (user.getRole() == User.UserRole.SELLER) {
-            orders = orderRepository.findBySellerIdOrderByCreatedAtDesc(user.getId());
+        if (cursor != null) {
+            OrderCursor after = OrderCursor.decode(cursor);
+            Pageable pageable = PageRequest.of(0, size);
+            orders = seller
+                    ? orderRepository.findBySellerIdBeforeCursor(userId, after.getCreatedAt(), after.getId(), pageable)
+                    : orderRepository.findByBuyerIdBeforeCursor(userId, after.getCreatedAt(), after.getId(), pageable);
         } else {
-            orders = orderRepository.findByBuyerIdOrderByCreatedAtDesc(user.getId());
+            Pageable pageable = PageRequest.of(page, size,
+                    Sort.by("createdAt").descending().and(Sort.by("id").descending()));
+            orders = seller
+                    ? orderRepository.findBySellerId(userId, pageable)
+                    : orderRepository.findByBuyerId(userId, pageable);
         }
 
-        return orders.stream()
-                .skip((long) page * size)
-                .limit(size)
+        return orderRepository.withItems(orders).stream()
                 .map(this::convertToOrderResponse)
                 .collect(Collectors.toList());
     }
 
-    private Order createOrderForSeller(User buyer, User seller, List<CartItem> cartItems, PlaceOrderRequest request) {
+    private Order newOrder(User buyer, User seller, PlaceOrderRequest request, LocalDateTime createdAt) {
         Order order = new Order();
         order.setBuyer(buyer);
         order.setSeller(seller);
-        order.setCreatedAt(LocalDateTime.now());
+        order.setCreatedAt(createdAt);
         order.setStatus(Order.OrderStatus.PENDING);
         order.setDeliveryAddress(request.getDeliveryAddress());
         order.setNotes(request.getNotes());
-
-        // Calculate totals
-        BigDecimal totalAmount = BigDecimal.ZERO;
-        BigDecimal totalCarbonSaved = BigDecimal.ZERO;
-
-        List<OrderItem> orderItems = cartItems.stream()
-                .map(cartItem -> {
-                    OrderItem orderItem = new OrderItem();
-                    orderItem.setOrder(order);
-                    orderItem.setProduct(cartItem.getProduct());
-                    orderItem.setQuantity(cartItem.getQuantity());
-                    orderItem.setPrice(cartItem.getProduct().getPrice());
-                    return orderItem;
-                })
-                .collect(Collectors.toList());
-
-        // Calculate totals
-        totalAmount = orderItems.stream()
-                .map(item -> item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        totalCarbonSaved = orderItems.stream()
-                .map(item -> item.getProduct().getCarbonFootprint().multiply(BigDecimal.valueOf(item.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        order.setTotalAmount(totalAmount);
-        order.setTotalCarbonSaved(totalCarbonSaved);
-        order.setItems(orderItems);
-
+        order.setTotalAmount(BigDecimal.ZERO);
+        order.setTotalCarbonSaved(BigDecimal.ZERO);
+        order.setItems(new ArrayList<>());
         return order;
     }
 
@@ -0,0 +1,100 @@
+package com.odoo.odoo.service;
+
+import com.odoo.odoo.cache.BoundedCache;
+import com.odoo.odoo.cache.BoundedCacheMetrics;
+import com.odoo.odoo.dto.response.ProductResponse;
+import com.odoo.odoo.event.ProductChangedEvent;
+import com.odoo.odoo.event.ProductStockChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Fully built product detail responses, keyed by product id, so hot listings
+ * are served without a database round trip. An entry is dropped after commit
+ * of any change to the product, including stock reserved at checkout, and is
+ * ignored once the category catalog it was built against has changed. The TTL
+ * only bounds staleness from writes that bypass those events.
+ *
+ * <p>Cached responses are shared between requests and must not be modified.
+ */
+@Component
+public class ProductResponseCache {
+
+    private static final String NAME = "productResponse";
+
+    private final BoundedCache<Long, CachedProduct> products;
+    private final CategoryCatalog categoryCatalog;
+
+    public ProductResponseCache(MeterRegistry meterRegistry,
+                                CategoryCatalog categoryCatalog,
+                                @Value("${products.cache.max-size:5000}") int maxSize,
+                                @Value("${products.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.categoryCatalog = categoryCatalog;
+        this.products = BoundedCacheMetrics.monitor(meterRegistry, NAME,
+                new BoundedCache<>(maxSize, Duration.ofSeconds(ttlSeconds)));
+        Gauge.builder("cache.memory.estimated", products, cache -> cache.totalWeight(CachedProduct::getEstimatedBytes))
+                .tags("cache", NAME)
+                .baseUnit("bytes")
+                .description("Rough heap footprint of the cached responses")
+                .register(meterRegistry);
+    }
+
+    // The cached product, or null on a miss
+    public CachedProduct get(Long productId) {
+        return products.get(productId, builtAgainst(categoryCatalog.snapshot().getEtag()));
+    }
+
+    public CachedProduct get(Long productId, Supplier<CachedProduct> loader) {
+        return products.getOrLoad(productId, id -> loader.get(), builtAgainst(categoryCatalog.snapshot().getEtag()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        products.invalidate(event.getProductId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(ProductStockChangedEvent event) {
+        event.getProductIds().forEach(products::invalidate);
+    }
+
+    // The catalog is read before entering the cache: a stale snapshot reloads from the
+    // database, which mustn't happen under the cache's lock
+    private static Predicate<CachedProduct> builtAgainst(String catalogEtag) {
+        return product -> product.getCatalogEtag().equals(catalogEtag);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class CachedProduct {
+
+        // Object headers, boxed numbers, BigDecimals and the metrics object, roughly
+        private static final long FIXED_BYTES = 640;
+
+        private final ProductResponse response;
+        private final String etag;
+        private final String catalogEtag;
+        private final long estimatedBytes;
+
+        public static CachedProduct of(ProductResponse response, String etag, String catalogEtag) {
+            long bytes = FIXED_BYTES + length(response.getTitle()) + length(response.getDescription())
+                    + length(response.getCategoryName()) + length(response.getSellerUsername())
+                    + length(response.getImageUrl()) + length(etag);
+            return new CachedProduct(response, etag, catalogEtag, bytes);
+        }
+
+        // Compact strings take a byte per Latin-1 character, plus the String and array headers
+        private static long length(String value) {
+            return value != null ? 40 + value.length() : 0;
+        }
+    }
+}
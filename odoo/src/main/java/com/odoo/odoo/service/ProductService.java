@@ -3,20 +3,34 @@ package com.odoo.odoo.service;
 
 import com.odoo.odoo.dto.request.ProductRequest;
 import com.odoo.odoo.dto.response.ProductResponse;
+import com.odoo.odoo.dto.response.SuggestionResponse;
+import com.odoo.odoo.event.ProductChangedEvent;
 import com.odoo.odoo.exception.ResourceNotFoundException;
 import com.odoo.odoo.model.Category;
 import com.odoo.odoo.model.Product;
-import com.odoo.odoo.model.User;
+import com.odoo.odoo.security.CurrentUser;
 import com.odoo.odoo.repository.ProductRepository;
+import com.odoo.odoo.repository.projection.ListingVersion;
+import com.odoo.odoo.repository.projection.ProductVersion;
+import com.odoo.odoo.search.ProductSearchIndex;
+import com.odoo.odoo.search.ProductSuggester;
+import com.odoo.odoo.search.TextTokenizer;
 import com.odoo.odoo.util.CarbonCalculatorUtil;
+import com.odoo.odoo.util.ETags;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,8 +39,13 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final CategoryService categoryService;
-    private final UserService userService;
+    private final CurrentUser currentUser;
     private final CarbonCalculatorUtil carbonCalculatorUtil;
+    private final ProductSearchIndex searchIndex;
+    private final ProductSuggester suggester;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserCounterService userCounterService;
+    private final ProductResponseCache productCache;
 
     public Page<ProductResponse> getAllProducts(Pageable pageable) {
         Page<Product> products = productRepository.findByStatusOrderByCreatedAtDesc(
@@ -41,20 +60,79 @@ public class ProductService {
     }
 
     public Page<ProductResponse> searchProducts(String keyword, Pageable pageable) {
-        Page<Product> products = productRepository.findByKeywordAndStatus(
-                keyword, Product.ProductStatus.ACTIVE, pageable);
-        return products.map(this::convertToResponse);
+        if (TextTokenizer.tokenize(keyword).isEmpty()) {
+            return getAllProducts(pageable);
+        }
+
+        // Ranked ids come from the in-memory index; only the requested page is loaded
+        List<Long> matches = searchIndex.search(keyword);
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        List<Long> pageIds = matches.subList(from, to);
+
+        Map<Long, Product> products = productRepository.findByIdIn(pageIds).stream()
+                .filter(product -> product.getStatus() == Product.ProductStatus.ACTIVE)
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<ProductResponse> content = pageIds.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, matches.size());
     }
 
-    public ProductResponse getProductById(Long id) {
-        Product product = productRepository.findById(id)
+    public List<SuggestionResponse> suggest(String prefix, int limit) {
+        return suggester.suggest(prefix, limit).stream()
+                .map(entry -> SuggestionResponse.builder()
+                        .text(entry.getText())
+                        .type(entry.getType())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * ETag of a product's detail response: from the response cache when the
+     * product is hot, otherwise from its version stamp without loading it.
+     * Category names and emission factors come from the category catalog, so
+     * its ETag is part of the tag too.
+     */
+    public String getProductETag(Long id) {
+        ProductResponseCache.CachedProduct cached = productCache.get(id);
+        if (cached != null) {
+            return cached.getEtag();
+        }
+        ProductVersion version = productRepository.findVersionById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
-        return convertToResponse(product);
+        return productETag(version.getId(), version.getUpdatedAt(), categoryService.getCatalog().getEtag());
+    }
+
+    // ETag of one page of the active listing, optionally within a category
+    public String getListingETag(Long categoryId, Pageable pageable) {
+        ListingVersion version = categoryId != null
+                ? productRepository.findListingVersionByCategoryId(categoryId, Product.ProductStatus.ACTIVE)
+                : productRepository.findListingVersion(Product.ProductStatus.ACTIVE);
+        return ETags.of("listing", categoryId, pageable.getPageNumber(), pageable.getPageSize(),
+                version.getProductCount(), version.getLastModified(), categoryService.getCatalog().getEtag());
+    }
+
+    public ProductResponse getProductById(Long id) {
+        return productCache.get(id, () -> {
+            // Read before the product, so a catalog change in between leaves the entry stale rather than wrong
+            String catalogEtag = categoryService.getCatalog().getEtag();
+            Product product = productRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
+            String etag = productETag(product.getId(), product.getUpdatedAt(), catalogEtag);
+            return ProductResponseCache.CachedProduct.of(convertToResponse(product), etag, catalogEtag);
+        }).getResponse();
+    }
+
+    private static String productETag(Long id, LocalDateTime updatedAt, String catalogEtag) {
+        return ETags.of("product", id, updatedAt, catalogEtag);
     }
 
     @Transactional
     public ProductResponse createProduct(ProductRequest request) {
-        User seller = userService.getCurrentUser();
         Category category = categoryService.getCategoryById(request.getCategoryId());
 
         Product product = Product.builder()
@@ -62,18 +140,22 @@ public class ProductService {
                 .description(request.getDescription())
                 .price(request.getPrice())
                 .category(category)
-                .seller(seller)
+                .seller(currentUser.getReference())
                 .imageUrl(request.getImageUrl())
                 .conditionRating(request.getConditionRating() != null ?
                         request.getConditionRating() : Product.ConditionRating.GOOD)
                 .weight(request.getWeight() != null ? request.getWeight() : BigDecimal.ONE)
+                .stock(request.getStock() != null ? request.getStock() : 1)
                 .build();
 
         // Calculate carbon footprint
-        BigDecimal carbonSavings = carbonCalculatorUtil.calculateCarbonSavings(product);
+        BigDecimal carbonSavings = carbonCalculatorUtil.calculateCarbonSavings(product,
+                categoryService.getEmissionFactor(request.getCategoryId()));
         product.setCarbonFootprint(carbonSavings);
 
         Product savedProduct = productRepository.save(product);
+        userCounterService.activeListingsChanged(currentUser.getId(), activeListingDelta(null, savedProduct.getStatus()));
+        eventPublisher.publishEvent(ProductChangedEvent.of(ProductChangedEvent.ChangeType.CREATED, savedProduct));
         return convertToResponse(savedProduct);
     }
 
@@ -82,12 +164,12 @@ public class ProductService {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
 
-        User currentUser = userService.getCurrentUser();
         if (!product.getSeller().getId().equals(currentUser.getId())) {
             throw new RuntimeException("You can only update your own products");
         }
 
         Category category = categoryService.getCategoryById(request.getCategoryId());
+        Product.ProductStatus previousStatus = product.getStatus();
 
         product.setTitle(request.getTitle());
         product.setDescription(request.getDescription());
@@ -96,12 +178,25 @@ public class ProductService {
         product.setImageUrl(request.getImageUrl());
         product.setConditionRating(request.getConditionRating());
         product.setWeight(request.getWeight());
+        if (request.getStock() != null) {
+            product.setStock(request.getStock());
+            // Restocking puts a sold-out listing back on sale, and vice versa
+            if (request.getStock() > 0 && product.getStatus() == Product.ProductStatus.SOLD) {
+                product.setStatus(Product.ProductStatus.ACTIVE);
+            } else if (request.getStock() == 0 && product.getStatus() == Product.ProductStatus.ACTIVE) {
+                product.setStatus(Product.ProductStatus.SOLD);
+            }
+        }
 
         // Recalculate carbon footprint
-        BigDecimal carbonSavings = carbonCalculatorUtil.calculateCarbonSavings(product);
+        BigDecimal carbonSavings = carbonCalculatorUtil.calculateCarbonSavings(product,
+                categoryService.getEmissionFactor(request.getCategoryId()));
         product.setCarbonFootprint(carbonSavings);
 
         Product savedProduct = productRepository.save(product);
+        userCounterService.activeListingsChanged(currentUser.getId(),
+                activeListingDelta(previousStatus, savedProduct.getStatus()));
+        eventPublisher.publishEvent(ProductChangedEvent.of(ProductChangedEvent.ChangeType.UPDATED, savedProduct));
         return convertToResponse(savedProduct);
     }
 
@@ -110,22 +205,29 @@ public class ProductService {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
 
-        User currentUser = userService.getCurrentUser();
         if (!product.getSeller().getId().equals(currentUser.getId())) {
             throw new RuntimeException("You can only delete your own products");
         }
 
         productRepository.delete(product);
+        userCounterService.activeListingsChanged(currentUser.getId(), activeListingDelta(product.getStatus(), null));
+        eventPublisher.publishEvent(ProductChangedEvent.of(ProductChangedEvent.ChangeType.DELETED, product));
     }
 
     public List<ProductResponse> getMyProducts() {
-        User currentUser = userService.getCurrentUser();
-        List<Product> products = productRepository.findBySeller(currentUser);
+        List<Product> products = productRepository.findBySellerIdOrderByCreatedAtDesc(currentUser.getId());
         return products.stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
 
+    // +1 when a listing becomes active, -1 when it stops being active; null means created or deleted
+    private static long activeListingDelta(Product.ProductStatus before, Product.ProductStatus after) {
+        boolean wasActive = before == Product.ProductStatus.ACTIVE;
+        boolean isActive = after == Product.ProductStatus.ACTIVE;
+        return wasActive == isActive ? 0 : isActive ? 1 : -1;
+    }
+
     private ProductResponse convertToResponse(Product product) {
         BigDecimal co2Saved = product.getCarbonFootprint() != null ?
                 product.getCarbonFootprint() : BigDecimal.ZERO;
@@ -143,12 +245,13 @@ public class ProductService {
                 .title(product.getTitle())
                 .description(product.getDescription())
                 .price(product.getPrice())
-                .categoryName(product.getCategory() != null ? product.getCategory().getName() : null)
+                .categoryName(categoryService.getCategoryName(product.getCategory()))
                 .sellerUsername(product.getSeller().getUsername())
                 .imageUrl(product.getImageUrl())
                 .conditionRating(product.getConditionRating())
                 .carbonFootprint(product.getCarbonFootprint())
                 .status(product.getStatus())
+                .stock(product.getStock())
                 .createdAt(product.getCreatedAt())
                 .sustainabilityMetrics(metrics)
                 .build();
@@ -0,0 +1,201 @@
+package com.odoo.odoo.service;
+
+import com.odoo.odoo.dto.response.SalesAnalyticsResponse;
+import com.odoo.odoo.dto.response.SellerDashboardResponse;
+import com.odoo.odoo.exception.ResourceNotFoundException;
+import com.odoo.odoo.model.Order;
+import com.odoo.odoo.model.OrderItem;
+import com.odoo.odoo.model.Product;
+import com.odoo.odoo.model.SellerSalesDaily;
+import com.odoo.odoo.repository.OrderRepository;
+import com.odoo.odoo.repository.ProductRepository;
+import com.odoo.odoo.repository.SellerSalesDailyRepository;
+import com.odoo.odoo.repository.projection.DailySales;
+import com.odoo.odoo.repository.projection.ProductSales;
+import com.odoo.odoo.security.CurrentUser;
+import com.odoo.odoo.util.AnalyticsRange;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the seller_sales_daily rollup as orders are placed, cancelled and
+ * reinstated, and serves the seller analytics from it. Sales are bucketed by
+ * the day the order was placed, so a later cancellation is taken off that day.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SalesAnalyticsService {
+
+    private static final int ANALYTICS_TOP_PRODUCTS = 10;
+
+    private final SellerSalesDailyRepository salesRepository;
+    private final OrderRepository orderRepository;
+    private final ProductRepository productRepository;
+    private final CurrentUser currentUser;
+
+    public void ordersPlaced(Collection<Order> orders) {
+        salesRepository.addSales(deltas(orders, 1));
+    }
+
+    public void orderCancelled(Order order) {
+        salesRepository.addSales(deltas(List.of(order), -1));
+    }
+
+    public void orderReinstated(Order order) {
+        salesRepository.addSales(deltas(List.of(order), 1));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        // Existing orders are rolled up once, when the table is first created
+        if (salesRepository.count() == 0 && orderRepository.count() > 0) {
+            int rows = salesRepository.rebuild();
+            log.info("Backfilled {} seller sales rollup rows", rows);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public SalesAnalyticsResponse getSellerAnalytics(String timeRange) {
+        AnalyticsRange range = AnalyticsRange.parse(timeRange);
+        LocalDate to = LocalDate.now();
+        LocalDate from = range.startingFrom(to);
+
+        Long sellerId = currentUser.getId();
+        List<DailySales> sales = salesRepository.findDailySales(sellerId, from, to);
+        List<ProductSales> topProducts = salesRepository.findTopProducts(sellerId, from, to,
+                PageRequest.of(0, ANALYTICS_TOP_PRODUCTS));
+        return toResponse(range, from, to, sales)
+                .topProducts(toPerformance(topProducts))
+                .build();
+    }
+
+    /**
+     * The seller's best-selling products of all time by revenue, ranked in the
+     * database from the rollup.
+     */
+    @Transactional(readOnly = true)
+    public List<SellerDashboardResponse.ProductPerformanceResponse> getTopProducts(Long sellerId, int limit) {
+        return toPerformance(salesRepository.findTopProducts(sellerId, PageRequest.of(0, limit)));
+    }
+
+    @Transactional(readOnly = true)
+    public SalesAnalyticsResponse getProductAnalytics(Long productId, String timeRange) {
+        AnalyticsRange range = AnalyticsRange.parse(timeRange);
+        Long sellerId = currentUser.getId();
+        Product product = productRepository.findById(productId)
+                .filter(candidate -> candidate.getSeller().getId().equals(sellerId))
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
+
+        LocalDate to = LocalDate.now();
+        LocalDate from = range.startingFrom(to);
+        List<DailySales> sales = salesRepository.findProductDailySales(sellerId, productId, from, to);
+        return toResponse(range, from, to, sales)
+                .productId(product.getId())
+                .productTitle(product.getTitle())
+                .build();
+    }
+
+    // Sums each order's items per (seller, day, product), signed for placement or cancellation
+    private Collection<SellerSalesDaily> deltas(Collection<Order> orders, int sign) {
+        BigDecimal factor = BigDecimal.valueOf(sign);
+        Map<List<Object>, SellerSalesDaily> rows = new HashMap<>();
+        for (Order order : orders) {
+            Long sellerId = order.getSeller().getId();
+            LocalDate day = order.getCreatedAt().toLocalDate();
+            for (OrderItem item : order.getItems()) {
+                Long productId = item.getProduct().getId();
+                SellerSalesDaily row = rows.computeIfAbsent(List.of(sellerId, day, productId),
+                        key -> SellerSalesDaily.builder()
+                                .sellerId(sellerId)
+                                .salesDate(day)
+                                .productId(productId)
+                                .unitsSold(0L)
+                                .revenue(BigDecimal.ZERO)
+                                .carbonSaved(BigDecimal.ZERO)
+                                .build());
+                BigDecimal revenue = item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity()));
+                BigDecimal carbonSaved = Objects.requireNonNullElse(item.getCarbonSaved(), BigDecimal.ZERO);
+                row.setUnitsSold(row.getUnitsSold() + (long) sign * item.getQuantity());
+                row.setRevenue(row.getRevenue().add(revenue.multiply(factor)));
+                row.setCarbonSaved(row.getCarbonSaved().add(carbonSaved.multiply(factor)));
+            }
+        }
+        return rows.values();
+    }
+
+    // Only the ranked products' titles are loaded
+    private List<SellerDashboardResponse.ProductPerformanceResponse> toPerformance(List<ProductSales> sales) {
+        if (sales.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, String> titles = productRepository.findAllById(sales.stream()
+                        .map(ProductSales::getProductId)
+                        .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Product::getTitle));
+
+        return sales.stream()
+                .map(sale -> SellerDashboardResponse.ProductPerformanceResponse.builder()
+                        .productId(sale.getProductId())
+                        .productTitle(titles.get(sale.getProductId()))
+                        .totalSales(sale.getUnitsSold().intValue())
+                        .revenue(sale.getRevenue())
+                        .carbonSaved(sale.getCarbonSaved())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private SalesAnalyticsResponse.SalesAnalyticsResponseBuilder toResponse(AnalyticsRange range, LocalDate from,
+                                                                            LocalDate to, List<DailySales> sales) {
+        Map<LocalDate, DailySales> salesByDay = sales.stream()
+                .collect(Collectors.toMap(DailySales::getSalesDate, Function.identity()));
+
+        // Dense series: days without sales are reported as zeros
+        List<SalesAnalyticsResponse.DailySalesResponse> daily = new ArrayList<>(range.getDays());
+        long unitsSold = 0;
+        BigDecimal revenue = BigDecimal.ZERO;
+        BigDecimal carbonSaved = BigDecimal.ZERO;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            DailySales sale = salesByDay.get(day);
+            long dayUnits = sale != null ? sale.getUnitsSold() : 0L;
+            BigDecimal dayRevenue = sale != null ? sale.getRevenue() : BigDecimal.ZERO;
+            BigDecimal dayCarbon = sale != null ? sale.getCarbonSaved() : BigDecimal.ZERO;
+            daily.add(SalesAnalyticsResponse.DailySalesResponse.builder()
+                    .date(day)
+                    .unitsSold(dayUnits)
+                    .revenue(dayRevenue)
+                    .carbonSaved(dayCarbon)
+                    .build());
+            unitsSold += dayUnits;
+            revenue = revenue.add(dayRevenue);
+            carbonSaved = carbonSaved.add(dayCarbon);
+        }
+
+        return SalesAnalyticsResponse.builder()
+                .timeRange(range.getCode())
+                .from(from)
+                .to(to)
+                .unitsSold(unitsSold)
+                .revenue(revenue)
+                .carbonSaved(carbonSaved)
+                .daily(daily);
+    }
+}
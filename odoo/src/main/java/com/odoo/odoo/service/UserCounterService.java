@@ -0,0 +1,115 @@
+package com.odoo.odoo.service;
+
+import com.odoo.odoo.model.Order;
+import com.odoo.odoo.repository.UserRepository;
+import com.odoo.odoo.util.CarbonCalculatorUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keeps the per-user counters on {@code User} (active listings, orders placed,
+ * carbon saved and sustainability points) current with relative UPDATEs in the
+ * caller's transaction, so a profile read is a single primary-key lookup.
+ * Placed orders are counted after checkout, by OrderFiguresSubscriber. A
+ * nightly job recomputes them from the products and orders tables to repair
+ * any drift.
+ */
+@Service
+@Slf4j
+public class UserCounterService {
+
+    private static final long RECONCILE_CHUNK = 1000;
+
+    private final UserRepository userRepository;
+    private final CarbonCalculatorUtil carbonCalculatorUtil;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean reconcileOnStartup;
+
+    public UserCounterService(UserRepository userRepository,
+                              CarbonCalculatorUtil carbonCalculatorUtil,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${users.counters.reconcile-on-startup:true}") boolean reconcileOnStartup) {
+        this.userRepository = userRepository;
+        this.carbonCalculatorUtil = carbonCalculatorUtil;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reconcileOnStartup = reconcileOnStartup;
+    }
+
+    /**
+     * Records a placed order for its buyer, and the listings that sold out with
+     * it for its seller. The two rows are updated in id order so concurrent
+     * updates touching the same users can't deadlock.
+     */
+    public void orderPlaced(Order order, long soldOutListings) {
+        Long buyerId = order.getBuyer().getId();
+        Long sellerId = order.getSeller().getId();
+        if (sellerId < buyerId) {
+            activeListingsChanged(sellerId, -soldOutListings);
+        }
+        addPurchases(buyerId, List.of(order), 1);
+        if (sellerId > buyerId) {
+            activeListingsChanged(sellerId, -soldOutListings);
+        }
+    }
+
+    public void orderCancelled(Order order) {
+        addPurchases(order.getBuyer().getId(), List.of(order), -1);
+    }
+
+    public void orderReinstated(Order order) {
+        addPurchases(order.getBuyer().getId(), List.of(order), 1);
+    }
+
+    public void activeListingsChanged(Long sellerId, long delta) {
+        if (delta != 0) {
+            userRepository.addActiveListings(sellerId, delta);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        // Backfills counters for rows written before they were maintained
+        if (reconcileOnStartup) {
+            reconcile();
+        }
+    }
+
+    @Scheduled(cron = "${users.counters.reconcile-cron:0 0 4 * * *}")
+    public void reconcile() {
+        Long maxId = userRepository.findMaxId();
+        if (maxId == null) {
+            return;
+        }
+        // One short transaction per chunk, so the users table is never locked as a whole
+        int updated = 0;
+        for (long fromId = 1; fromId <= maxId; fromId += RECONCILE_CHUNK) {
+            long from = fromId;
+            Integer rows = transactionTemplate.execute(status -> userRepository.recomputeCounters(
+                    from, from + RECONCILE_CHUNK - 1, CarbonCalculatorUtil.POINTS_PER_KG));
+            updated += rows != null ? rows : 0;
+        }
+        log.info("Reconciled sustainability counters for {} users", updated);
+    }
+
+    private void addPurchases(Long buyerId, Collection<Order> orders, int sign) {
+        BigDecimal carbonSaved = BigDecimal.ZERO;
+        int points = 0;
+        for (Order order : orders) {
+            BigDecimal orderCarbon = order.getTotalCarbonSaved() != null ? order.getTotalCarbonSaved() : BigDecimal.ZERO;
+            carbonSaved = carbonSaved.add(orderCarbon);
+            points += carbonCalculatorUtil.calculateSustainabilityPoints(orderCarbon);
+        }
+        userRepository.addPurchases(buyerId, (long) sign * orders.size(),
+                sign < 0 ? carbonSaved.negate() : carbonSaved, sign * points);
+    }
+}
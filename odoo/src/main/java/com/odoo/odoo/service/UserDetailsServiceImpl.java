@@ -1,21 +1,39 @@
 package com.odoo.odoo.service;
 
 
+import com.odoo.odoo.cache.BoundedCache;
 import com.odoo.odoo.model.User;
 import com.odoo.odoo.repository.UserRepository;
 import com.odoo.odoo.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+
+/**
+ * Loads principals for authentication and, for tokens without identity claims,
+ * keeps them briefly in a cache that is cleared whenever the user row is written.
+ *
+ * <p>Tokens with identity claims don't come through here at all: their role is
+ * read from the token, so a role change or deleted account only takes effect
+ * for them once the token expires (jwt.expiration) and the user logs in again.
+ */
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
+    // Short-lived principals for tokens that predate identity claims
+    private final BoundedCache<String, UserPrincipal> principals = new BoundedCache<>(10_000, Duration.ofSeconds(60));
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(username)
@@ -23,4 +41,47 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
         return UserPrincipal.create(user);
     }
-}
\ No newline at end of file
+
+    /**
+     * Principal for an already authenticated request. Unlike loadUserByUsername this
+     * may be served from cache, so it must not be used to check credentials.
+     */
+    public UserPrincipal loadPrincipal(String email) {
+        UserPrincipal principal = principals.get(email);
+        if (principal == null) {
+            principal = (UserPrincipal) loadUserByUsername(email);
+            principals.put(email, principal);
+        }
+        return principal;
+    }
+
+    /**
+     * Called after a successful login whose stored hash used a different BCrypt cost.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserPrincipal principal = (UserPrincipal) user;
+        userRepository.updatePassword(principal.getId(), newPassword);
+        evictPrincipal(principal.getEmail());
+        principal.setPassword(newPassword);
+        return principal;
+    }
+
+    /**
+     * Drops a cached principal. Inside a transaction this happens after commit, so
+     * a concurrent request can't cache the old row again before the write lands.
+     */
+    public void evictPrincipal(String email) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principals.invalidate(email);
+                }
+            });
+        } else {
+            principals.invalidate(email);
+        }
+    }
+}
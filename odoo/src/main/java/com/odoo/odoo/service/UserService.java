@@ -2,14 +2,10 @@ package com.odoo.odoo.service;
 
 
 import com.odoo.odoo.dto.response.UserResponse;
-import com.odoo.odoo.exception.ResourceNotFoundException;
 import com.odoo.odoo.model.User;
-import com.odoo.odoo.repository.OrderRepository;
-import com.odoo.odoo.repository.ProductRepository;
 import com.odoo.odoo.repository.UserRepository;
-import com.odoo.odoo.security.UserPrincipal;
+import com.odoo.odoo.security.CurrentUser;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -19,24 +15,16 @@ import java.math.BigDecimal;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final ProductRepository productRepository;
-    private final OrderRepository orderRepository;
+    private final CurrentUser currentUser;
 
     public User getCurrentUser() {
-        UserPrincipal userPrincipal = (UserPrincipal) SecurityContextHolder.getContext()
-                .getAuthentication().getPrincipal();
-
-        return userRepository.findByEmail(userPrincipal.getEmail())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        return currentUser.getUser();
     }
 
+    // Counters are maintained by UserCounterService, so this is a single primary-key lookup
     public UserResponse getUserProfile() {
         User user = getCurrentUser();
-
-        Long productsListed = productRepository.countBySellerAndStatus(user,
-                com.odoo.odoo.model.Product.ProductStatus.ACTIVE);
-        Long totalOrders = orderRepository.countOrdersByUser(user);
-        BigDecimal carbonSaved = orderRepository.getTotalCarbonSavedByUser(user);
+        BigDecimal carbonSaved = user.getTotalCarbonSaved() != null ? user.getTotalCarbonSaved() : BigDecimal.ZERO;
 
         return UserResponse.builder()
                 .id(user.getId())
@@ -45,11 +33,11 @@ public class UserService {
                 .fullName(user.getFullName())
                 .phone(user.getPhone())
                 .profileImage(user.getProfileImage())
-                .totalCarbonSaved(user.getTotalCarbonSaved())
+                .totalCarbonSaved(carbonSaved)
                 .sustainabilityPoints(user.getSustainabilityPoints())
-                .productsListed(productsListed)
-                .totalOrders(totalOrders)
-                .carbonSavedFromPurchases(carbonSaved != null ? carbonSaved : BigDecimal.ZERO)
+                .productsListed(user.getActiveListings())
+                .totalOrders(user.getOrdersPlaced())
+                .carbonSavedFromPurchases(carbonSaved)
                 .build();
     }
 }
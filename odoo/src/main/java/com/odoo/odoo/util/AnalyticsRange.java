@@ -0,0 +1,43 @@
+package com.odoo.odoo.util;
+
+import com.odoo.odoo.exception.BadRequestException;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * Time ranges accepted by the seller analytics endpoints, ending today
+ * (inclusive).
+ */
+@Getter
+public enum AnalyticsRange {
+    LAST_7_DAYS("7d", 7),
+    LAST_30_DAYS("30d", 30),
+    LAST_365_DAYS("365d", 365);
+
+    public static final AnalyticsRange DEFAULT = LAST_30_DAYS;
+
+    private final String code;
+    private final int days;
+
+    AnalyticsRange(String code, int days) {
+        this.code = code;
+        this.days = days;
+    }
+
+    public LocalDate startingFrom(LocalDate today) {
+        return today.minusDays(days - 1L);
+    }
+
+    public static AnalyticsRange parse(String code) {
+        if (code == null || code.isBlank()) {
+            return DEFAULT;
+        }
+        for (AnalyticsRange range : values()) {
+            if (range.code.equalsIgnoreCase(code.trim())) {
+                return range;
+            }
+        }
+        throw new BadRequestException("timeRange must be one of 7d, 30d or 365d");
+    }
+}
@@ -1,12 +1,12 @@
 package com.odoo.odoo.util;
 
 
-import com.odoo.odoo.model.Category;
 import com.odoo.odoo.model.Product;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.Locale;
 
 @Component
 public class CarbonCalculatorUtil {
@@ -21,9 +21,15 @@ public class CarbonCalculatorUtil {
     // Transport factor for second-hand (15% of new product emissions)
     private static final BigDecimal TRANSPORT_FACTOR = new BigDecimal("0.15");
 
-    public BigDecimal calculateCarbonSavings(Product product) {
+    // Sustainability points awarded per kg CO2 saved, rounded down per order
+    public static final int POINTS_PER_KG = 10;
+
+    /**
+     * The emission factor is the product category's, resolved once per category
+     * by CategoryCatalog (see {@link #emissionFactorFor}).
+     */
+    public BigDecimal calculateCarbonSavings(Product product, BigDecimal emissionFactor) {
         BigDecimal weight = product.getWeight() != null ? product.getWeight() : BigDecimal.ONE;
-        BigDecimal emissionFactor = getEmissionFactor(product.getCategory());
 
         // New product emissions
         BigDecimal newProductEmissions = weight.multiply(emissionFactor);
@@ -49,20 +55,26 @@ public class CarbonCalculatorUtil {
         return co2Saved.multiply(waterFactor).setScale(0, RoundingMode.HALF_UP);
     }
 
-    private BigDecimal getEmissionFactor(Category category) {
-        if (category == null) {
-            return DEFAULT_FACTOR;
-        }
+    public int calculateSustainabilityPoints(BigDecimal co2Saved) {
+        return co2Saved.multiply(BigDecimal.valueOf(POINTS_PER_KG))
+                .setScale(0, RoundingMode.FLOOR)
+                .intValue();
+    }
 
-        String categoryName = category.getName().toLowerCase();
+    /**
+     * Emission factor for a category: well-known names map to fixed factors,
+     * anything else uses the category's own carbon factor, or the default
+     * factor when there is no category.
+     */
+    public static BigDecimal emissionFactorFor(String name, BigDecimal carbonFactor) {
+        String categoryName = name != null ? name.toLowerCase(Locale.ROOT) : "";
 
         return switch (categoryName) {
             case "electronics", "computers", "phones", "gadgets" -> ELECTRONICS_FACTOR;
             case "furniture", "home", "appliances" -> FURNITURE_FACTOR;
             case "books", "education", "textbooks" -> BOOKS_FACTOR;
             case "clothing", "fashion", "apparel" -> CLOTHING_FACTOR;
-            default -> category.getCarbonFactor() != null ?
-                    category.getCarbonFactor() : DEFAULT_FACTOR;
+            default -> carbonFactor != null ? carbonFactor : DEFAULT_FACTOR;
         };
     }
 }
@@ -1,59 +1,92 @@
 package com.odoo.odoo.util;
 
+import com.odoo.odoo.cache.BoundedCache;
+import com.odoo.odoo.model.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.time.Duration;
 import java.util.Date;
+import java.util.Optional;
 
 @Component
 @Slf4j
 public class JwtUtil {
 
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_USERNAME = "username";
+    public static final String CLAIM_ROLE = "role";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private int jwtExpiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    @Value("${jwt.cache.max-size:10000}")
+    private int cacheMaxSize;
+
+    @Value("${jwt.cache.ttl-seconds:300}")
+    private long cacheTtlSeconds;
+
+    // Built once; the key and parser are immutable and safe to share across requests
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    // Recently verified tokens, so repeat requests skip the HMAC check and JSON parsing
+    private BoundedCache<String, Claims> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokens = new BoundedCache<>(cacheMaxSize, Duration.ofSeconds(cacheTtlSeconds));
     }
 
-    public String generateToken(String username) {
+    public String generateToken(User user) {
         Date expiryDate = new Date(System.currentTimeMillis() + jwtExpiration);
 
+        // Identity claims let the authentication filter build the principal without a user lookup
         return Jwts.builder()
-                .setSubject(username)
+                .setSubject(user.getEmail())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_USERNAME, user.getUsername())
+                .claim(CLAIM_ROLE, user.getRole().name())
                 .setIssuedAt(new Date())
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return claims.getSubject();
-    }
+    /**
+     * Verifies the token once and returns its claims, or empty when the token is
+     * malformed, tampered with or expired. Cached claims are never served past
+     * the token's own expiry.
+     */
+    public Optional<Claims> parseClaims(String token) {
+        Claims cached = verifiedTokens.get(token);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
 
-    public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(token, claims, claims.getExpiration().getTime());
+            } else {
+                verifiedTokens.put(token, claims);
+            }
+            return Optional.of(claims);
         } catch (JwtException | IllegalArgumentException e) {
             log.error("Invalid JWT token: {}", e.getMessage());
         }
-        return false;
+        return Optional.empty();
     }
 }
@@ -0,0 +1,66 @@
+package com.odoo.odoo.util;
+
+import com.odoo.odoo.dto.response.OrderResponse;
+import com.odoo.odoo.exception.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Opaque keyset cursor for order lists sorted by (createdAt DESC, id DESC).
+ * The next page starts strictly after the encoded order, so deep pages cost
+ * the same index range scan as the first one.
+ */
+@Getter
+@AllArgsConstructor
+public class OrderCursor {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    public static String encode(LocalDateTime createdAt, Long id) {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Cursor pointing after the last order of a full page, or null when the page
+     * was short and there is nothing more to fetch.
+     */
+    public static String next(List<OrderResponse> page, int size) {
+        if (page.isEmpty() || page.size() < size) {
+            return null;
+        }
+        OrderResponse last = page.get(page.size() - 1);
+        return encode(last.getOrderDate(), last.getId());
+    }
+
+    // A page of orders, with the cursor for the next one in the X-Next-Cursor header when there is one
+    public static ResponseEntity<List<OrderResponse>> withNextCursor(List<OrderResponse> page, int size) {
+        String nextCursor = next(page, size);
+        if (nextCursor == null) {
+            return ResponseEntity.ok(page);
+        }
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, nextCursor)
+                .body(page);
+    }
+
+    public static OrderCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new OrderCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.odoo.odoo;
+
+import com.odoo.odoo.model.Product;
+import com.odoo.odoo.model.User;
+
+import java.math.BigDecimal;
+
+/**
+ * Unsaved entities with every required column filled in, for tests that
+ * persist their own data.
+ */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    public static User user(String name) {
+        return User.builder()
+                .email(name + "@ecofinds.test")
+                .username(name)
+                .fullName(name)
+                .password("secret")
+                .build();
+    }
+
+    public static Product product(String title, User seller) {
+        return Product.builder()
+                .title(title)
+                .price(BigDecimal.valueOf(5))
+                .carbonFootprint(BigDecimal.ONE)
+                .seller(seller)
+                .build();
+    }
+}
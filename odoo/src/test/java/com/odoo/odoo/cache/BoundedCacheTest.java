@@ -0,0 +1,109 @@
+package com.odoo.odoo.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsedEntryWhenFull() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(2, Duration.ofMinutes(1));
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        cache.put("c", 3);
+
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a")).isEqualTo(1);
+        assertThat(cache.get("c")).isEqualTo(3);
+        assertThat(cache.evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void dropsEntriesPastTheirExpiry() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(10, Duration.ofMinutes(1));
+        cache.put("expired", 1, System.currentTimeMillis() - 1);
+        cache.put("live", 2);
+
+        assertThat(cache.get("expired")).isNull();
+        assertThat(cache.get("live")).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void tracksHitsAndMissesAndLoadsOnMiss() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(10, Duration.ofMinutes(1));
+
+        assertThat(cache.getOrLoad("k", key -> 42)).isEqualTo(42);
+        assertThat(cache.getOrLoad("k", key -> 0)).isEqualTo(42);
+
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.hitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void invalidatesMatchingKeys() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(10, Duration.ofMinutes(1));
+        cache.put("seller:1", 1);
+        cache.put("seller:2", 2);
+        cache.put("buyer:1", 3);
+
+        cache.invalidateIf(key -> key.startsWith("seller:"));
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.get("buyer:1")).isEqualTo(3);
+    }
+
+    @Test
+    void aValueLoadedWhileItsKeyIsInvalidatedIsNotCached() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(10, Duration.ofMinutes(1));
+
+        assertThat(cache.getOrLoad("k", key -> {
+            cache.invalidate("k");
+            return 1;
+        })).isEqualTo(1);
+        assertThat(cache.get("k")).isNull();
+    }
+
+    @Test
+    void invalidatingOtherKeysDoesNotStopALoadFromBeingCached() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(10, Duration.ofMinutes(1));
+
+        cache.getOrLoad("seller:1", key -> {
+            cache.invalidate("seller:2");
+            cache.invalidateIf(other -> other.startsWith("buyer:"));
+            return 1;
+        });
+
+        assertThat(cache.get("seller:1")).isEqualTo(1);
+    }
+
+    @Test
+    void onlyCachesValuesThatPassThePredicate() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(10, Duration.ofMinutes(1));
+
+        cache.getOrLoad("partial", key -> -1, value -> value >= 0);
+        cache.getOrLoad("complete", key -> 1, value -> value >= 0);
+
+        assertThat(cache.get("partial")).isNull();
+        assertThat(cache.get("complete")).isEqualTo(1);
+    }
+
+    @Test
+    void cachedValuesThatNoLongerPassThePredicateAreReloaded() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(10, Duration.ofMinutes(1));
+        AtomicInteger minimum = new AtomicInteger(1);
+
+        cache.getOrLoad("k", key -> 1, value -> value >= minimum.get());
+        minimum.set(2);
+
+        assertThat(cache.getOrLoad("k", key -> 2, value -> value >= minimum.get())).isEqualTo(2);
+        assertThat(cache.get("k")).isEqualTo(2);
+        assertThat(cache.missCount()).isEqualTo(2);
+    }
+}
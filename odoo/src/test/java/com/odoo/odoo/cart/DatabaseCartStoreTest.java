@@ -0,0 +1,77 @@
+package com.odoo.odoo.cart;
+
+import com.odoo.odoo.model.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.odoo.odoo.TestFixtures.product;
+import static com.odoo.odoo.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares changing N cart lines with N single updates against one bulk update,
+ * counted in JDBC statements and round trips.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(DatabaseCartStore.class)
+class DatabaseCartStoreTest {
+
+    private static final int LINES = 20;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DatabaseCartStore database;
+
+    private Long buyerId;
+    private final List<Long> productIds = new ArrayList<>();
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        User buyer = entityManager.persist(user("buyer"));
+        User seller = entityManager.persist(user("seller"));
+        buyerId = buyer.getId();
+        for (int i = 0; i < LINES; i++) {
+            productIds.add(entityManager.persist(product("Item " + i, seller)).getId());
+        }
+        database.update(buyerId, cart -> productIds.forEach(id -> cart.put(id, 1)));
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void bulkUpdateUsesOneSelectAndOneBatch() {
+        for (Long productId : productIds) {
+            database.update(buyerId, cart -> cart.merge(productId, 1, Integer::sum));
+            // Each single call commits on its own
+            entityManager.flush();
+        }
+        long singleStatements = statistics.getPrepareStatementCount();
+
+        entityManager.clear();
+        statistics.clear();
+
+        database.update(buyerId, cart -> productIds.forEach(id -> cart.merge(id, 1, Integer::sum)));
+        entityManager.flush();
+        long bulkStatements = statistics.getPrepareStatementCount();
+
+        assertThat(singleStatements).isEqualTo(2L * LINES);
+        assertThat(bulkStatements).isEqualTo(2);
+        assertThat(database.getLines(buyerId).values()).containsOnly(3);
+    }
+}
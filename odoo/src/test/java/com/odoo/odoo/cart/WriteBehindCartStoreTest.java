@@ -0,0 +1,89 @@
+package com.odoo.odoo.cart;
+
+import com.odoo.odoo.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static com.odoo.odoo.TestFixtures.product;
+import static com.odoo.odoo.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(DatabaseCartStore.class)
+class WriteBehindCartStoreTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DatabaseCartStore database;
+
+    private WriteBehindCartStore store;
+    private Long buyerId;
+    private Long deskId;
+    private Long lampId;
+
+    @BeforeEach
+    void setUp() {
+        store = new WriteBehindCartStore(database);
+        ReflectionTestUtils.setField(store, "idleEvictionMinutes", 30L);
+
+        User buyer = entityManager.persist(user("buyer"));
+        User seller = entityManager.persist(user("seller"));
+        buyerId = buyer.getId();
+        deskId = entityManager.persist(product("Desk", seller)).getId();
+        lampId = entityManager.persist(product("Lamp", seller)).getId();
+    }
+
+    @Test
+    void updatesStayInMemoryUntilFlushed() {
+        store.update(buyerId, cart -> cart.merge(deskId, 2, Integer::sum));
+        store.update(buyerId, cart -> cart.merge(lampId, 1, Integer::sum));
+        store.update(buyerId, cart -> cart.merge(deskId, 1, Integer::sum));
+
+        assertThat(store.getLines(buyerId)).containsExactly(Map.entry(deskId, 3), Map.entry(lampId, 1));
+        assertThat(database.getLines(buyerId)).isEmpty();
+
+        store.flush();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(database.getLines(buyerId)).containsExactly(Map.entry(deskId, 3), Map.entry(lampId, 1));
+    }
+
+    @Test
+    void flushWritesOnlyTheLatestState() {
+        database.update(buyerId, cart -> cart.put(deskId, 1));
+        entityManager.flush();
+
+        store.update(buyerId, cart -> cart.remove(deskId));
+        store.update(buyerId, cart -> cart.put(lampId, 4));
+        store.flush();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(database.getLines(buyerId)).containsExactly(Map.entry(lampId, 4));
+    }
+
+    @Test
+    void clearIsWrittenThroughImmediately() {
+        database.update(buyerId, cart -> cart.put(deskId, 1));
+        entityManager.flush();
+        store.update(buyerId, cart -> cart.put(lampId, 2));
+
+        store.clear(buyerId);
+        store.flush();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(store.getLines(buyerId)).isEmpty();
+        assertThat(database.getLines(buyerId)).isEmpty();
+    }
+}
@@ -0,0 +1,83 @@
+package com.odoo.odoo.controller;
+
+import com.odoo.odoo.dto.response.ProductResponse;
+import com.odoo.odoo.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ProductControllerTest {
+
+    private static final String PRODUCT_ETAG = "\"product-7\"";
+    private static final String LISTING_ETAG = "\"listing-0-12\"";
+
+    private final ProductService productService = mock(ProductService.class);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ProductController(productService)).build();
+
+    @Test
+    void productIsServedWithItsETag() throws Exception {
+        when(productService.getProductETag(7L)).thenReturn(PRODUCT_ETAG);
+        when(productService.getProductById(7L)).thenReturn(ProductResponse.builder().id(7L).title("Lamp").build());
+
+        mockMvc.perform(get("/api/products/7"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, PRODUCT_ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=10, public"))
+                .andExpect(jsonPath("$.title").value("Lamp"));
+    }
+
+    @Test
+    void matchingIfNoneMatchAnswersNotModifiedWithoutLoadingTheProduct() throws Exception {
+        when(productService.getProductETag(7L)).thenReturn(PRODUCT_ETAG);
+
+        mockMvc.perform(get("/api/products/7").header(HttpHeaders.IF_NONE_MATCH, PRODUCT_ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, PRODUCT_ETAG))
+                .andExpect(content().string(""));
+
+        verify(productService, never()).getProductById(any());
+    }
+
+    @Test
+    void staleIfNoneMatchGetsTheFullProduct() throws Exception {
+        when(productService.getProductETag(7L)).thenReturn(PRODUCT_ETAG);
+        when(productService.getProductById(7L)).thenReturn(ProductResponse.builder().id(7L).title("Lamp").build());
+
+        mockMvc.perform(get("/api/products/7").header(HttpHeaders.IF_NONE_MATCH, "\"product-6\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, PRODUCT_ETAG));
+    }
+
+    @Test
+    void listingAnswersNotModifiedWithoutLoadingThePage() throws Exception {
+        PageRequest firstPage = PageRequest.of(0, 12);
+        when(productService.getListingETag(null, firstPage)).thenReturn(LISTING_ETAG);
+        when(productService.getAllProducts(firstPage)).thenReturn(new PageImpl<>(List.of(), firstPage, 0));
+
+        mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, LISTING_ETAG));
+
+        mockMvc.perform(get("/api/products").header(HttpHeaders.IF_NONE_MATCH, LISTING_ETAG))
+                .andExpect(status().isNotModified());
+
+        verify(productService, times(1)).getAllProducts(firstPage);
+    }
+}
@@ -0,0 +1,208 @@
+package com.odoo.odoo.outbox;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The dispatcher commits its own transactions, so the test runs without one
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({OutboxPublisher.class, OutboxDispatcher.class, OutboxDeliveries.class, OutboxDispatcherTest.Subscribers.class})
+class OutboxDispatcherTest {
+
+    @Autowired
+    private OutboxPublisher publisher;
+
+    @Autowired
+    private OutboxDispatcher dispatcher;
+
+    @Autowired
+    private OutboxEventRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OutboxDeliveryRepository deliveryRepository;
+
+    @Autowired
+    private RecordingSubscriber recording;
+
+    @Autowired
+    private ApplyOnceSubscriber applyOnce;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+        deliveryRepository.deleteAll();
+        recording.received.clear();
+    }
+
+    @Test
+    void deliversCommittedEventsOnce() {
+        inTransaction(() -> {
+            for (int i = 1; i <= 3; i++) {
+                publisher.publish("TEST", (long) i, Map.of("n", i));
+            }
+        });
+
+        dispatcher.drain();
+        dispatcher.drain();
+
+        assertThat(recording.received).containsExactlyInAnyOrder(1, 2, 3);
+        assertThat(repository.findAll()).allMatch(event -> event.getStatus() == OutboxEvent.Status.PROCESSED);
+        assertThat(meterRegistry.get("outbox.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void nothingIsDeliveredWhenTheWritingTransactionRollsBack() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            publisher.publish("TEST", 1L, Map.of("n", 1));
+            status.setRollbackOnly();
+        });
+
+        dispatcher.drain();
+
+        assertThat(recording.received).isEmpty();
+        assertThat(repository.count()).isZero();
+    }
+
+    @Test
+    void failedDeliveriesAreRetriedLater() {
+        inTransaction(() -> publisher.publish("FAILING", 1L, Map.of("n", 1)));
+
+        dispatcher.drain();
+
+        OutboxEvent event = repository.findAll().get(0);
+        assertThat(event.getStatus()).isEqualTo(OutboxEvent.Status.PENDING);
+        assertThat(event.getAttempts()).isEqualTo(1);
+        assertThat(event.getLastError()).contains("boom");
+        assertThat(event.getAvailableAt()).isAfter(event.getCreatedAt());
+    }
+
+    @Test
+    void redeliveredEventsAreAppliedOnce() {
+        inTransaction(() -> publisher.publish("ONCE", 1L, Map.of("n", 1)));
+        dispatcher.drain();
+
+        // As if the dispatcher died after the subscriber committed but before the event was marked processed
+        inTransaction(() -> repository.findAll().forEach(event -> event.setStatus(OutboxEvent.Status.PENDING)));
+        dispatcher.drain();
+
+        assertThat(applyOnce.applied).hasValue(1);
+        assertThat(repository.findAll()).allMatch(event -> event.getStatus() == OutboxEvent.Status.PROCESSED);
+    }
+
+    private void inTransaction(Runnable work) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> work.run());
+    }
+
+    @SuppressWarnings("rawtypes")
+    static class RecordingSubscriber implements OutboxSubscriber<Map> {
+        final List<Integer> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String eventType() {
+            return "TEST";
+        }
+
+        @Override
+        public Class<Map> payloadType() {
+            return Map.class;
+        }
+
+        @Override
+        public void handle(Map payload, OutboxEvent event) {
+            received.add((Integer) payload.get("n"));
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    static class FailingSubscriber implements OutboxSubscriber<Map> {
+        @Override
+        public String eventType() {
+            return "FAILING";
+        }
+
+        @Override
+        public Class<Map> payloadType() {
+            return Map.class;
+        }
+
+        @Override
+        public void handle(Map payload, OutboxEvent event) {
+            throw new IllegalStateException("boom");
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    static class ApplyOnceSubscriber implements OutboxSubscriber<Map> {
+        final AtomicInteger applied = new AtomicInteger();
+        private final OutboxDeliveries deliveries;
+
+        ApplyOnceSubscriber(OutboxDeliveries deliveries) {
+            this.deliveries = deliveries;
+        }
+
+        @Override
+        public String eventType() {
+            return "ONCE";
+        }
+
+        @Override
+        public Class<Map> payloadType() {
+            return Map.class;
+        }
+
+        @Override
+        public void handle(Map payload, OutboxEvent event) {
+            deliveries.runOnce(event, "applyOnce", applied::incrementAndGet);
+        }
+    }
+
+    @TestConfiguration
+    static class Subscribers {
+        @Bean
+        RecordingSubscriber recordingSubscriber() {
+            return new RecordingSubscriber();
+        }
+
+        @Bean
+        FailingSubscriber failingSubscriber() {
+            return new FailingSubscriber();
+        }
+
+        @Bean
+        ApplyOnceSubscriber applyOnceSubscriber(OutboxDeliveries deliveries) {
+            return new ApplyOnceSubscriber(deliveries);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
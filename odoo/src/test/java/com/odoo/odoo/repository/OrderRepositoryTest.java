@@ -0,0 +1,154 @@
+package com.odoo.odoo.repository;
+
+import com.odoo.odoo.model.Order;
+import com.odoo.odoo.model.OrderItem;
+import com.odoo.odoo.model.Product;
+import com.odoo.odoo.model.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.odoo.odoo.TestFixtures.product;
+import static com.odoo.odoo.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private User seller;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        User buyer = entityManager.persist(user("buyer"));
+        seller = entityManager.persist(user("seller"));
+
+        List<Product> products = List.of(
+                entityManager.persist(product("Desk", seller)),
+                entityManager.persist(product("Lamp", seller)),
+                entityManager.persist(product("Chair", seller)));
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 15; i++) {
+            Order order = Order.builder()
+                    .buyer(buyer)
+                    .seller(seller)
+                    .totalAmount(BigDecimal.TEN)
+                    .createdAt(now.minusMinutes(i))
+                    .build();
+            for (int j = 0; j < 2; j++) {
+                order.getItems().add(OrderItem.builder()
+                        .order(order)
+                        .product(products.get((i + j) % products.size()))
+                        .quantity(1)
+                        .price(BigDecimal.valueOf(5))
+                        .build());
+            }
+            entityManager.persist(order);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void orderPageWithItemsLoadsInTwoRoundTrips() {
+        List<Order> page = orderRepository.withItems(orderRepository.findBySellerId(seller.getId(),
+                PageRequest.of(0, 10, Sort.by("createdAt").descending().and(Sort.by("id").descending()))));
+
+        assertThat(page).hasSize(10);
+        page.forEach(this::touchResponseFields);
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void keysetPageWithItemsLoadsInTwoRoundTrips() {
+        LocalDateTime cursor = LocalDateTime.now().plusDays(1);
+
+        List<Order> page = orderRepository.withItems(orderRepository.findBySellerIdBeforeCursor(
+                seller.getId(), cursor, Long.MAX_VALUE, PageRequest.of(0, 10)));
+
+        assertThat(page).hasSize(10);
+        page.forEach(this::touchResponseFields);
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void orderDetailsLoadInOneRoundTrip() {
+        Long orderId = orderRepository.findBySellerId(seller.getId(), PageRequest.of(0, 1)).get(0).getId();
+        entityManager.clear();
+        statistics.clear();
+
+        Order order = orderRepository.findWithDetailsById(orderId).orElseThrow();
+        touchResponseFields(order);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void checkoutOfFiftyLinesIsBatched() {
+        List<Product> products = entityManager.getEntityManager()
+                .createQuery("SELECT p FROM Product p", Product.class).getResultList();
+        User buyer = entityManager.persist(user("checkout"));
+        entityManager.flush();
+        statistics.clear();
+
+        // Five sellers' worth of orders with ten lines each, as placeOrder builds them
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Order order = Order.builder()
+                    .buyer(buyer)
+                    .seller(seller)
+                    .totalAmount(BigDecimal.TEN)
+                    .createdAt(LocalDateTime.now())
+                    .build();
+            for (int j = 0; j < 10; j++) {
+                order.getItems().add(OrderItem.builder()
+                        .order(order)
+                        .product(products.get(j % products.size()))
+                        .quantity(1)
+                        .price(BigDecimal.valueOf(5))
+                        .build());
+            }
+            orders.add(order);
+        }
+        orderRepository.saveAll(orders);
+        entityManager.flush();
+
+        // One batched insert per table instead of one insert per row; allow for an id block fetch
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+    }
+
+    // Mirrors the associations read when mapping an order to an OrderResponse
+    private void touchResponseFields(Order order) {
+        order.getBuyer().getFullName();
+        order.getSeller().getFullName();
+        order.getItems().forEach(item -> {
+            item.getProduct().getTitle();
+            item.getProduct().getImageUrl();
+            item.getProduct().getCarbonFootprint();
+        });
+    }
+}
@@ -0,0 +1,87 @@
+package com.odoo.odoo.repository;
+
+import com.odoo.odoo.TestFixtures;
+import com.odoo.odoo.model.Product;
+import com.odoo.odoo.model.User;
+import com.odoo.odoo.repository.projection.ListingVersion;
+import com.odoo.odoo.repository.projection.ProductVersion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+import static com.odoo.odoo.model.Product.ProductStatus.ACTIVE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Version stamps are read back after committed writes, so the test itself runs without a transaction
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductRepositoryTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User seller;
+
+    @BeforeEach
+    void setUp() {
+        seller = userRepository.save(TestFixtures.user("etag-seller"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll(productRepository.findBySellerIdOrderByCreatedAtDesc(seller.getId()));
+        userRepository.delete(seller);
+    }
+
+    @Test
+    void reservationsMoveTheVersionStampsUsedForETags() throws Exception {
+        Product mug = productRepository.save(product("Mug", 3));
+        ProductVersion before = productRepository.findVersionById(mug.getId()).orElseThrow();
+        ListingVersion listingBefore = productRepository.findListingVersion(ACTIVE);
+        Thread.sleep(5);
+
+        new TransactionTemplate(transactionManager).execute(status ->
+                productRepository.reserveStock(Map.of(mug.getId(), 1)));
+
+        assertThat(productRepository.findVersionById(mug.getId()).orElseThrow().getUpdatedAt())
+                .isAfter(before.getUpdatedAt());
+        assertThat(productRepository.findListingVersion(ACTIVE).getLastModified()).isAfter(listingBefore.getLastModified());
+    }
+
+    @Test
+    void listingVersionCountsOnlyProductsWithTheRequestedStatus() {
+        Product mug = productRepository.save(product("Mug", 3));
+        ListingVersion listingBefore = productRepository.findListingVersion(ACTIVE);
+
+        Product sold = productRepository.save(product("Teapot", 0));
+        sold.setStatus(Product.ProductStatus.SOLD);
+        productRepository.save(sold);
+        assertThat(productRepository.findListingVersion(ACTIVE).getProductCount())
+                .isEqualTo(listingBefore.getProductCount());
+
+        productRepository.delete(mug);
+        assertThat(productRepository.findVersionById(mug.getId())).isEmpty();
+        assertThat(productRepository.findListingVersion(ACTIVE).getProductCount())
+                .isEqualTo(listingBefore.getProductCount() - 1);
+    }
+
+    private Product product(String title, int stock) {
+        Product product = TestFixtures.product(title, seller);
+        product.setStock(stock);
+        return product;
+    }
+}
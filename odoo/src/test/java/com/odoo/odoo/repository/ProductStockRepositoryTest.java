@@ -0,0 +1,120 @@
+package com.odoo.odoo.repository;
+
+import com.odoo.odoo.TestFixtures;
+import com.odoo.odoo.model.Product;
+import com.odoo.odoo.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Buyers race in their own committed transactions, so the test itself runs without one
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductStockRepositoryTest {
+
+    private static final int BUYERS = 50;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User seller;
+
+    @BeforeEach
+    void setUp() {
+        seller = userRepository.save(TestFixtures.user("stock-seller"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll(productRepository.findBySellerIdOrderByCreatedAtDesc(seller.getId()));
+        userRepository.delete(seller);
+    }
+
+    @Test
+    void oneOfAKindItemIsSoldExactlyOnce() throws Exception {
+        Product item = productRepository.save(product("Vintage lamp", 1));
+
+        assertThat(race(item.getId(), 1)).isEqualTo(1);
+
+        Product sold = productRepository.findById(item.getId()).orElseThrow();
+        assertThat(sold.getStock()).isZero();
+        assertThat(sold.getStatus()).isEqualTo(Product.ProductStatus.SOLD);
+    }
+
+    @Test
+    void neverSellsMoreThanTheStock() throws Exception {
+        Product item = productRepository.save(product("Mugs", 7));
+
+        assertThat(race(item.getId(), 2)).isEqualTo(3);
+
+        Product left = productRepository.findById(item.getId()).orElseThrow();
+        assertThat(left.getStock()).isEqualTo(1);
+        assertThat(left.getStatus()).isEqualTo(Product.ProductStatus.ACTIVE);
+    }
+
+    @Test
+    void reservesAllLinesOrReportsTheShortOnes() {
+        Product chair = productRepository.save(product("Chair", 2));
+        Product desk = productRepository.save(product("Desk", 1));
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<Long> unavailable = transaction.execute(status ->
+                productRepository.reserveStock(Map.of(chair.getId(), 1, desk.getId(), 2)));
+
+        assertThat(unavailable).containsExactly(desk.getId());
+    }
+
+    // Starts every buyer at once on a virtual thread and returns how many got the item
+    private int race(Long productId, int quantity) throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> purchases = new ArrayList<>();
+
+        try (ExecutorService buyers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < BUYERS; i++) {
+                purchases.add(buyers.submit(() -> {
+                    start.await();
+                    return transaction.execute(status ->
+                            productRepository.reserveStock(Map.of(productId, quantity)).isEmpty());
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<Boolean> purchase : purchases) {
+                if (purchase.get()) {
+                    succeeded++;
+                }
+            }
+            return succeeded;
+        }
+    }
+
+    private Product product(String title, int stock) {
+        Product product = TestFixtures.product(title, seller);
+        product.setStock(stock);
+        return product;
+    }
+}
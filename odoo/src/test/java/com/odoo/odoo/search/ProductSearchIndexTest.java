@@ -0,0 +1,55 @@
+package com.odoo.odoo.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        index.index(1L, "Wooden Desk", "Solid oak desk with two drawers");
+        index.index(2L, "Desk Lamp", "LED lamp, fits any desk");
+        index.index(3L, "Office Chair", "Ergonomic chair, pairs well with a wooden desk");
+    }
+
+    @Test
+    void matchesByPrefixIgnoringCase() {
+        assertThat(index.search("WOOD")).containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    @Test
+    void ranksTitleMatchesAboveDescriptionMatches() {
+        // "pine" is in the bench's title and the shelf's description. Newer listings win ties,
+        // so only the title weight puts the older bench first
+        index.index(4L, "Pine Bench", "Garden seat for two");
+        index.index(5L, "Bookshelf", "Five shelves in solid pine");
+
+        assertThat(index.search("pine")).containsExactly(4L, 5L);
+    }
+
+    @Test
+    void requiresEveryQueryTerm() {
+        assertThat(index.search("desk lamp")).containsExactly(2L);
+        assertThat(index.search("desk sofa")).isEmpty();
+    }
+
+    @Test
+    void reindexAndRemoveReplaceOldTerms() {
+        index.index(2L, "Floor Lamp", "Tall standing lamp");
+        assertThat(index.search("desk")).containsExactlyInAnyOrder(1L, 3L);
+
+        index.remove(1L);
+        assertThat(index.search("oak")).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void blankQueryMatchesNothing() {
+        assertThat(index.search("  ,; ")).isEmpty();
+    }
+}
@@ -0,0 +1,47 @@
+package com.odoo.odoo.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SuggestionTrieTest {
+
+    private final SuggestionTrie trie = SuggestionTrie.build(List.of(
+            entry("desk", 5),
+            entry("design", 2),
+            entry("desktop", 9),
+            entry("dress", 4),
+            entry("lamp", 7),
+            new SuggestionTrie.Entry("home & garden", "Home & Garden", "CATEGORY", 3)), 3);
+
+    @Test
+    void returnsCompletionsByWeight() {
+        assertThat(texts(trie.complete("des", 10))).containsExactly("desktop", "desk", "design");
+        assertThat(texts(trie.complete("d", 10))).containsExactly("desktop", "desk", "dress");
+    }
+
+    @Test
+    void matchesPrefixesEndingInsideACompressedEdge() {
+        assertThat(texts(trie.complete("deskt", 10))).containsExactly("desktop");
+        assertThat(texts(trie.complete("home &", 10))).containsExactly("Home & Garden");
+    }
+
+    @Test
+    void honoursLimitAndUnknownPrefixes() {
+        assertThat(trie.complete("des", 1)).hasSize(1);
+        assertThat(trie.complete("des", -1)).isEmpty();
+        assertThat(trie.complete("desx", 10)).isEmpty();
+        assertThat(trie.complete("zebra", 10)).isEmpty();
+        assertThat(trie.size()).isEqualTo(6);
+    }
+
+    private static SuggestionTrie.Entry entry(String term, long weight) {
+        return new SuggestionTrie.Entry(term, term, "TERM", weight);
+    }
+
+    private static List<String> texts(List<SuggestionTrie.Entry> entries) {
+        return entries.stream().map(SuggestionTrie.Entry::getText).toList();
+    }
+}
@@ -0,0 +1,66 @@
+package com.odoo.odoo.security;
+
+import com.odoo.odoo.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedPasswordEncoderTest {
+
+    @Test
+    void encodesAndMatchesOnThePool() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(4, 1, 1, new SimpleMeterRegistry());
+
+        String hash = encoder.encode("secret");
+
+        assertThat(encoder.matches("secret", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+        encoder.shutdown();
+    }
+
+    @Test
+    void flagsHashesWithADifferentCostForUpgrade() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(5, 1, 1, new SimpleMeterRegistry());
+
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("secret"))).isFalse();
+        assertThat(encoder.upgradeEncoding("not-a-bcrypt-hash")).isFalse();
+        encoder.shutdown();
+    }
+
+    @Test
+    void rejectsHashesOnceThePoolAndQueueAreFull() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(12, 1, 1, registry);
+
+        int rejected = 0;
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> hashes = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                hashes.add(callers.submit(() -> encoder.encode("secret")));
+            }
+            for (Future<String> hash : hashes) {
+                try {
+                    hash.get();
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(TooManyRequestsException.class);
+                    rejected++;
+                }
+            }
+        }
+
+        assertThat(rejected).isPositive();
+        assertThat(registry.get("auth.password.hash.rejected").counter().count()).isEqualTo(rejected);
+        encoder.shutdown();
+    }
+}
@@ -0,0 +1,110 @@
+package com.odoo.odoo.service;
+
+import com.odoo.odoo.config.CategoryChangeListener;
+import com.odoo.odoo.model.Category;
+import com.odoo.odoo.repository.CategoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Writes have to commit before the catalog reloads, so the test runs without a transaction
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CategoryCatalog.class, CategoryChangeListener.class})
+class CategoryCatalogTest {
+
+    @Autowired
+    private CategoryCatalog catalog;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @AfterEach
+    void tearDown() {
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void emissionFactorsAreResolvedOnceWhenLoaded() {
+        Category electronics = categoryRepository.save(category("Electronics", "1.0"));
+        categoryRepository.save(category("Garden", "7.5"));
+
+        CategoryCatalog.Snapshot snapshot = catalog.snapshot();
+
+        assertThat(snapshot.get(electronics.getId()).getEmissionFactor()).isEqualByComparingTo("45.2");
+        assertThat(snapshot.byName("GARDEN").getEmissionFactor()).isEqualByComparingTo("7.5");
+        assertThat(snapshot.getResponses()).extracting("name").containsExactly("Electronics", "Garden");
+        assertThat(snapshot.get(-1L)).isNull();
+    }
+
+    @Test
+    void committedWritesReplaceTheSnapshotAndItsEtag() {
+        Category books = categoryRepository.save(category("Books", "2.7"));
+        CategoryCatalog.Snapshot before = catalog.snapshot();
+        assertThat(catalog.snapshot()).isSameAs(before);
+        // An unchanged table reloads to the same validator
+        assertThat(catalog.refresh().getEtag()).isEqualTo(before.getEtag());
+
+        books.setDescription("Used textbooks and novels");
+        categoryRepository.save(books);
+
+        CategoryCatalog.Snapshot after = catalog.snapshot();
+        assertThat(after).isNotSameAs(before);
+        assertThat(after.getEtag()).isNotEqualTo(before.getEtag());
+        assertThat(after.get(books.getId()).getDescription()).isEqualTo("Used textbooks and novels");
+    }
+
+    @Test
+    void readersThatFindTheSnapshotStaleReloadItOnce() throws Exception {
+        CategoryRepository slowRepository = mock(CategoryRepository.class);
+        when(slowRepository.findAll()).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            Category books = category("Books", "2.7");
+            books.setId(1L);
+            return List.of(books);
+        });
+        CategoryCatalog fresh = new CategoryCatalog(slowRepository);
+
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService readers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<CategoryCatalog.Snapshot>> snapshots = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                snapshots.add(readers.submit(() -> {
+                    start.await();
+                    return fresh.snapshot();
+                }));
+            }
+            start.countDown();
+            for (Future<CategoryCatalog.Snapshot> snapshot : snapshots) {
+                assertThat(snapshot.get().getResponses()).hasSize(1);
+            }
+        }
+
+        verify(slowRepository, times(1)).findAll();
+    }
+
+    private Category category(String name, String carbonFactor) {
+        return Category.builder()
+                .name(name)
+                .carbonFactor(new BigDecimal(carbonFactor))
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.odoo.odoo.service;
+
+import com.odoo.odoo.dto.response.BuyerDashboardResponse;
+import com.odoo.odoo.dto.response.SellerDashboardResponse;
+import com.odoo.odoo.event.OrderChangedEvent;
+import com.odoo.odoo.event.ProductChangedEvent;
+import com.odoo.odoo.model.Order;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DashboardCacheTest {
+
+    private static final long BUYER = 1L;
+    private static final long SELLER = 2L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DashboardCache cache = new DashboardCache(meterRegistry, 100, 300);
+    private final AtomicInteger builds = new AtomicInteger();
+
+    @Test
+    void orderChangesInvalidateBothParties() {
+        seller();
+        buyer();
+        seller();
+        buyer();
+        assertThat(builds).hasValue(2);
+
+        cache.onOrderChanged(new OrderChangedEvent(10L, BUYER, SELLER, Order.OrderStatus.CANCELLED));
+        seller();
+        buyer();
+
+        assertThat(builds).hasValue(4);
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "sellerDashboard", "result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "sellerDashboard", "result", "miss")
+                .functionCounter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void productChangesOnlyInvalidateTheSeller() {
+        seller();
+        buyer();
+
+        cache.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED,
+                5L, SELLER, "Desk", null, null));
+        seller();
+        buyer();
+
+        assertThat(builds).hasValue(3);
+    }
+
+    @Test
+    void partialDashboardsAreNotCached() {
+        cache.seller(SELLER, () -> sellerDashboard(List.of("topBuyers")));
+        cache.seller(SELLER, () -> sellerDashboard(List.of("topBuyers")));
+
+        assertThat(builds).hasValue(2);
+    }
+
+    private SellerDashboardResponse seller() {
+        return cache.seller(SELLER, () -> sellerDashboard(List.of()));
+    }
+
+    private BuyerDashboardResponse buyer() {
+        return cache.buyer(BUYER, () -> {
+            builds.incrementAndGet();
+            return BuyerDashboardResponse.builder().totalSpent(BigDecimal.ONE).unavailableSections(List.of()).build();
+        });
+    }
+
+    private SellerDashboardResponse sellerDashboard(List<String> unavailable) {
+        builds.incrementAndGet();
+        return SellerDashboardResponse.builder().totalEarnings(BigDecimal.TEN).unavailableSections(unavailable).build();
+    }
+}
@@ -0,0 +1,159 @@
+package com.odoo.odoo.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DashboardSectionsTest {
+
+    private final PlatformTransactionManager transactionManager = transactionManager();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DashboardSections sections = new DashboardSections(transactionManager, meterRegistry, 500, 2);
+
+    @AfterEach
+    void tearDown() {
+        sections.shutdown();
+    }
+
+    @Test
+    void sectionsRunConcurrently() {
+        // Each section waits for the other two, which only works if all three run at once
+        CyclicBarrier allStarted = new CyclicBarrier(3);
+        try (DashboardSections.Scope scope = sections.open()) {
+            DashboardSections.Section<String> first = scope.fork("first", () -> rendezvous("a", allStarted));
+            DashboardSections.Section<String> second = scope.fork("second", () -> rendezvous("b", allStarted));
+            DashboardSections.Section<String> third = scope.fork("third", () -> rendezvous("c", allStarted));
+            scope.join();
+
+            assertThat(scope.unavailable()).isEmpty();
+            assertThat(first.get() + second.get() + third.get()).isEqualTo("abc");
+        }
+    }
+
+    @Test
+    void slowAndFailingSectionsAreLeftOut() throws InterruptedException {
+        CountDownLatch slowCancelled = new CountDownLatch(1);
+        try (DashboardSections.Scope scope = sections.open()) {
+            DashboardSections.Section<String> fast = scope.fork("fast", () -> "ok");
+            DashboardSections.Section<String> slow = scope.fork("slow", () -> blockUntilCancelled(slowCancelled));
+            DashboardSections.Section<String> broken = scope.fork("broken", () -> {
+                throw new IllegalStateException("boom");
+            });
+            scope.join();
+
+            assertThat(fast.get()).isEqualTo("ok");
+            assertThat(slow.get()).isNull();
+            assertThat(broken.get()).isNull();
+            assertThat(scope.unavailable()).containsExactly("slow", "broken");
+        }
+        // The section that missed the deadline was interrupted, not left running
+        assertThat(slowCancelled.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("dashboard.section.unavailable").tag("section", "slow").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void twoSellerDashboardsLoadAllTheirSectionsAtOnce() throws Exception {
+        // Every section of both dashboards waits for all ten, so neither may be split into rounds
+        CyclicBarrier allStarted = new CyclicBarrier(10);
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<List<String>> first = requests.submit(() -> sellerDashboard(allStarted));
+            Future<List<String>> second = requests.submit(() -> sellerDashboard(allStarted));
+
+            assertThat(first.get()).isEmpty();
+            assertThat(second.get()).isEmpty();
+        }
+    }
+
+    @Test
+    void dashboardsBeyondTheLimitWaitForASlot() {
+        AtomicInteger loaded = new AtomicInteger();
+        DashboardSections.Scope firstHolder = sections.open();
+        try (DashboardSections.Scope secondHolder = sections.open()) {
+            try (DashboardSections.Scope waiting = sections.open()) {
+                DashboardSections.Section<Integer> orders = waiting.fork("orders", loaded::incrementAndGet);
+                waiting.join();
+
+                assertThat(orders.get()).isNull();
+                assertThat(waiting.unavailable()).containsExactly("orders");
+            }
+            firstHolder.close();
+
+            try (DashboardSections.Scope admitted = sections.open()) {
+                DashboardSections.Section<Integer> orders = admitted.fork("orders", loaded::incrementAndGet);
+                admitted.join();
+
+                assertThat(orders.get()).isEqualTo(1);
+            }
+        }
+        assertThat(loaded).hasValue(1);
+    }
+
+    @Test
+    void sectionTransactionsCarryTheTimeout() {
+        try (DashboardSections.Scope scope = sections.open()) {
+            scope.fork("orders", () -> "ok");
+            scope.join();
+        }
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertThat(definition.getValue().getTimeout()).isEqualTo(1);
+        assertThat(definition.getValue().isReadOnly()).isTrue();
+    }
+
+    private List<String> sellerDashboard(CyclicBarrier allStarted) {
+        try (DashboardSections.Scope scope = sections.open()) {
+            for (String name : List.of("totals", "productCount", "recentOrders", "topProducts", "topBuyers")) {
+                scope.fork(name, () -> rendezvous(name, allStarted));
+            }
+            scope.join();
+            return scope.unavailable();
+        }
+    }
+
+    private static String blockUntilCancelled(CountDownLatch cancelled) {
+        try {
+            new CountDownLatch(1).await();
+            return "never";
+        } catch (InterruptedException e) {
+            cancelled.countDown();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String rendezvous(String value, CyclicBarrier barrier) {
+        try {
+            barrier.await(400, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException | BrokenBarrierException | TimeoutException e) {
+            throw new IllegalStateException(e);
+        }
+        return value;
+    }
+
+    private static PlatformTransactionManager transactionManager() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> mock(TransactionStatus.class));
+        return transactionManager;
+    }
+}
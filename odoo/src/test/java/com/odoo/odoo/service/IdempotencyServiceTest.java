@@ -0,0 +1,170 @@
+package com.odoo.odoo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.odoo.odoo.dto.request.PlaceOrderRequest;
+import com.odoo.odoo.dto.response.OrderResponse;
+import com.odoo.odoo.exception.BadRequestException;
+import com.odoo.odoo.exception.ConflictException;
+import com.odoo.odoo.model.IdempotencyRecord;
+import com.odoo.odoo.repository.IdempotencyRecordRepository;
+import com.odoo.odoo.security.CurrentUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdempotencyServiceTest {
+
+    private final IdempotencyRecordRepository repository = mock(IdempotencyRecordRepository.class);
+    private final CurrentUser currentUser = mock(CurrentUser.class);
+    private IdempotencyService service;
+
+    @BeforeEach
+    void setUp() {
+        when(currentUser.getId()).thenReturn(7L);
+        when(repository.findByUserIdAndIdempotencyKey(anyLong(), anyString())).thenReturn(Optional.empty());
+        service = new IdempotencyService(repository, currentUser,
+                new ObjectMapper().registerModule(new JavaTimeModule()), 24, 100);
+        beginTransaction();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void replaysTheCommittedResponseForARetry() {
+        AtomicInteger placed = new AtomicInteger();
+        PlaceOrderRequest request = request("1 Green Street");
+
+        OrderResponse first = service.execute("key-1", request, OrderResponse.class, () -> order(placed));
+        commit();
+        beginTransaction();
+        OrderResponse retry = service.execute("key-1", request, OrderResponse.class, () -> order(placed));
+
+        assertThat(placed).hasValue(1);
+        assertThat(retry.getId()).isEqualTo(first.getId());
+        assertThat(retry.getTotalAmount()).isEqualByComparingTo(first.getTotalAmount());
+        verify(repository).saveAndFlush(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    void rejectsAKeyReusedForADifferentRequest() {
+        AtomicInteger placed = new AtomicInteger();
+        service.execute("key-2", request("1 Green Street"), OrderResponse.class, () -> order(placed));
+        commit();
+        beginTransaction();
+
+        assertThatThrownBy(() -> service.execute("key-2", request("9 Other Road"), OrderResponse.class,
+                () -> order(placed)))
+                .isInstanceOf(BadRequestException.class);
+        assertThat(placed).hasValue(1);
+    }
+
+    @Test
+    void runsAgainWhenTheFirstAttemptRolledBack() {
+        AtomicInteger placed = new AtomicInteger();
+        PlaceOrderRequest request = request("1 Green Street");
+
+        service.execute("key-3", request, OrderResponse.class, () -> order(placed));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        beginTransaction();
+        service.execute("key-3", request, OrderResponse.class, () -> order(placed));
+
+        assertThat(placed).hasValue(2);
+    }
+
+    @Test
+    void failuresOfTheRequestItselfAreNotReportedAsAConflict() {
+        DataIntegrityViolationException failure = new DataIntegrityViolationException("order_items");
+
+        assertThatThrownBy(() -> service.execute("key-4", request("1 Green Street"), OrderResponse.class, () -> {
+            throw failure;
+        })).isSameAs(failure);
+        verify(repository, never()).saveAndFlush(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    void aDuplicateRecordFromAnotherInstanceIsAConflict() {
+        when(repository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_idempotency_user_key"));
+
+        assertThatThrownBy(() -> service.execute("key-5", request("1 Green Street"), OrderResponse.class,
+                () -> order(new AtomicInteger())))
+                .isInstanceOf(ConflictException.class);
+    }
+
+    @Test
+    void anExpiredKeyIsDeletedAndRunsAgain() {
+        AtomicInteger placed = new AtomicInteger();
+        IdempotencyRecord expired = IdempotencyRecord.builder()
+                .userId(7L)
+                .idempotencyKey("key-6")
+                .requestHash("old")
+                .responseBody("{}")
+                .createdAt(LocalDateTime.now().minusDays(2))
+                .expiresAt(LocalDateTime.now().minusDays(1))
+                .build();
+        when(repository.findByUserIdAndIdempotencyKey(7L, "key-6")).thenReturn(Optional.of(expired));
+
+        service.execute("key-6", request("1 Green Street"), OrderResponse.class, () -> order(placed));
+
+        assertThat(placed).hasValue(1);
+        InOrder inOrder = inOrder(repository);
+        inOrder.verify(repository).deleteExpired(eq(7L), eq("key-6"), any(LocalDateTime.class));
+        inOrder.verify(repository).saveAndFlush(any(IdempotencyRecord.class));
+    }
+
+    private static PlaceOrderRequest request(String address) {
+        PlaceOrderRequest request = new PlaceOrderRequest();
+        request.setDeliveryAddress(address);
+        return request;
+    }
+
+    private static OrderResponse order(AtomicInteger placed) {
+        return OrderResponse.builder()
+                .id((long) placed.incrementAndGet())
+                .totalAmount(BigDecimal.TEN)
+                .build();
+    }
+
+    private static void beginTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+
+    private static void commit() {
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+    }
+
+    private static void complete(int status) {
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCompletion(status));
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+}
@@ -0,0 +1,110 @@
+package com.odoo.odoo.service;
+
+import com.odoo.odoo.dto.response.ProductResponse;
+import com.odoo.odoo.event.ProductChangedEvent;
+import com.odoo.odoo.event.ProductStockChangedEvent;
+import com.odoo.odoo.model.Category;
+import com.odoo.odoo.repository.CategoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductResponseCacheTest {
+
+    private static final long LAMP = 1L;
+    private static final long DESK = 2L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private final CategoryCatalog catalog = new CategoryCatalog(categoryRepository);
+    private final ProductResponseCache cache = new ProductResponseCache(meterRegistry, catalog, 100, 600);
+    private final AtomicInteger builds = new AtomicInteger();
+
+    ProductResponseCacheTest() {
+        when(categoryRepository.findAll()).thenReturn(List.of(category("Home")));
+    }
+
+    @Test
+    void hotProductsAreBuiltOnceUntilTheyChange() {
+        load(LAMP);
+        load(LAMP);
+        load(DESK);
+        assertThat(builds).hasValue(2);
+
+        cache.onProductChanged(new ProductChangedEvent(ProductChangedEvent.ChangeType.UPDATED,
+                LAMP, 9L, "Lamp", null, null));
+        load(LAMP);
+        load(DESK);
+        assertThat(builds).hasValue(3);
+
+        cache.onStockChanged(new ProductStockChangedEvent(List.of(LAMP, DESK)));
+        load(LAMP);
+        load(DESK);
+        assertThat(builds).hasValue(5);
+
+        assertThat(meterRegistry.get("cache.hit.ratio").tag("cache", "productResponse").gauge().value())
+                .isEqualTo(2.0 / 7);
+        assertThat(meterRegistry.get("cache.memory.estimated").tag("cache", "productResponse").gauge().value())
+                .isGreaterThan(2 * 640);
+    }
+
+    @Test
+    void aCategoryChangeRetiresResponsesBuiltAgainstTheOldCatalog() {
+        load(LAMP);
+        when(categoryRepository.findAll()).thenReturn(List.of(category("Furniture")));
+        catalog.markStale();
+
+        load(LAMP);
+        load(LAMP);
+
+        assertThat(builds).hasValue(2);
+    }
+
+    @Test
+    void theCatalogIsReloadedOutsideTheCacheLock() {
+        Object products = ReflectionTestUtils.getField(cache, "products");
+        AtomicBoolean reloadedUnderLock = new AtomicBoolean();
+        when(categoryRepository.findAll()).thenAnswer(invocation -> {
+            reloadedUnderLock.compareAndSet(false, Thread.holdsLock(products));
+            return List.of(category("Home"));
+        });
+
+        load(LAMP);
+        catalog.markStale();
+        load(LAMP);
+        catalog.markStale();
+        cache.get(LAMP);
+
+        verify(categoryRepository, times(3)).findAll();
+        assertThat(reloadedUnderLock).isFalse();
+    }
+
+    private ProductResponse load(long productId) {
+        return cache.get(productId, () -> build(productId)).getResponse();
+    }
+
+    private ProductResponseCache.CachedProduct build(long productId) {
+        builds.incrementAndGet();
+        ProductResponse response = ProductResponse.builder()
+                .id(productId)
+                .title("Listing " + productId)
+                .price(BigDecimal.TEN)
+                .build();
+        return ProductResponseCache.CachedProduct.of(response, "\"" + productId + "\"", catalog.snapshot().getEtag());
+    }
+
+    private Category category(String name) {
+        return Category.builder().id(1L).name(name).carbonFactor(BigDecimal.ONE).build();
+    }
+}
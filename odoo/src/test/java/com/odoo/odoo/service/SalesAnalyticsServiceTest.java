@@ -0,0 +1,166 @@
+package com.odoo.odoo.service;
+
+import com.odoo.odoo.TestFixtures;
+import com.odoo.odoo.dto.response.SalesAnalyticsResponse;
+import com.odoo.odoo.exception.BadRequestException;
+import com.odoo.odoo.model.Order;
+import com.odoo.odoo.model.OrderItem;
+import com.odoo.odoo.model.Product;
+import com.odoo.odoo.model.SellerSalesDaily;
+import com.odoo.odoo.model.User;
+import com.odoo.odoo.repository.SellerSalesDailyRepository;
+import com.odoo.odoo.security.CurrentUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.odoo.odoo.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.when;
+
+// The rollup upserts with MySQL's ON DUPLICATE KEY UPDATE, so this runs on H2 in MySQL mode
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:sales-rollup;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SalesAnalyticsService.class)
+class SalesAnalyticsServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SalesAnalyticsService analytics;
+
+    @Autowired
+    private SellerSalesDailyRepository salesRepository;
+
+    @MockBean
+    private CurrentUser currentUser;
+
+    private User buyer;
+    private User seller;
+    private Product desk;
+    private Product lamp;
+
+    @BeforeEach
+    void setUp() {
+        buyer = entityManager.persist(user("rollup-buyer"));
+        seller = entityManager.persist(user("rollup-seller"));
+        desk = entityManager.persist(product("Desk"));
+        lamp = entityManager.persist(product("Lamp"));
+        when(currentUser.getId()).thenReturn(seller.getId());
+    }
+
+    @Test
+    void placementsAndCancellationsAreRolledUpPerDay() {
+        LocalDateTime today = LocalDateTime.now();
+        Order first = order(today, item(desk, 2, "40.00", "3.00"), item(lamp, 1, "15.00", "1.50"));
+        Order second = order(today.minusDays(3), item(desk, 1, "40.00", "1.50"));
+        Order cancelled = order(today, item(lamp, 4, "15.00", "6.00"));
+        analytics.ordersPlaced(List.of(first, second));
+        analytics.ordersPlaced(List.of(cancelled));
+        analytics.orderCancelled(cancelled);
+
+        SalesAnalyticsResponse week = analytics.getSellerAnalytics("7d");
+
+        assertThat(week.getDaily()).hasSize(7);
+        assertThat(week.getUnitsSold()).isEqualTo(4);
+        assertThat(week.getRevenue()).isEqualByComparingTo("135.00");
+        assertThat(week.getCarbonSaved()).isEqualByComparingTo("6.00");
+        assertThat(week.getDaily().get(6).getUnitsSold()).isEqualTo(3);
+        assertThat(week.getDaily().get(3).getUnitsSold()).isEqualTo(1);
+
+        SalesAnalyticsResponse deskSeries = analytics.getProductAnalytics(desk.getId(), "30d");
+        assertThat(deskSeries.getProductTitle()).isEqualTo("Desk");
+        assertThat(deskSeries.getDaily()).hasSize(30);
+        assertThat(deskSeries.getUnitsSold()).isEqualTo(3);
+        assertThat(deskSeries.getRevenue()).isEqualByComparingTo("120.00");
+    }
+
+    @Test
+    void rebuildMatchesTheIncrementalRollup() {
+        LocalDateTime now = LocalDateTime.now();
+        Order first = entityManager.persist(order(now, item(desk, 2, "40.00", "3.00"), item(lamp, 1, "15.00", "1.50")));
+        Order second = entityManager.persist(order(now.minusDays(1), item(desk, 1, "40.00", "1.50")));
+        Order cancelled = order(now, item(lamp, 3, "15.00", "4.50"));
+        cancelled.setStatus(Order.OrderStatus.CANCELLED);
+        entityManager.persist(cancelled);
+        analytics.ordersPlaced(List.of(first, second));
+        List<SellerSalesDaily> incremental = rows();
+
+        salesRepository.rebuild();
+
+        assertThat(rows()).usingRecursiveFieldByFieldElementComparatorIgnoringFields("id")
+                .usingComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(incremental);
+    }
+
+    @Test
+    void topProductsAreRankedByRevenueAtThePricePaid() {
+        LocalDateTime now = LocalDateTime.now();
+        // Lamp sold more units, but the desk brought in more money; current list prices don't matter
+        analytics.ordersPlaced(List.of(
+                order(now, item(desk, 1, "100.00", "1.00"), item(lamp, 5, "15.00", "5.00")),
+                order(now.minusDays(400), item(lamp, 1, "15.00", "1.00"))));
+
+        assertThat(analytics.getTopProducts(seller.getId(), 5))
+                .extracting(product -> product.getProductTitle(), product -> product.getTotalSales())
+                .containsExactly(tuple("Desk", 1), tuple("Lamp", 6));
+        assertThat(analytics.getTopProducts(seller.getId(), 1)).hasSize(1);
+        assertThat(analytics.getSellerAnalytics("365d").getTopProducts())
+                .extracting(product -> product.getRevenue().intValue())
+                .containsExactly(100, 75);
+    }
+
+    @Test
+    void rejectsUnknownTimeRanges() {
+        assertThatThrownBy(() -> analytics.getSellerAnalytics("90d")).isInstanceOf(BadRequestException.class);
+    }
+
+    private List<SellerSalesDaily> rows() {
+        entityManager.flush();
+        entityManager.clear();
+        return salesRepository.findAll().stream()
+                .sorted(Comparator.comparing(SellerSalesDaily::getSalesDate)
+                        .thenComparing(SellerSalesDaily::getProductId))
+                .toList();
+    }
+
+    private Order order(LocalDateTime createdAt, OrderItem... items) {
+        Order order = Order.builder()
+                .buyer(buyer)
+                .seller(seller)
+                .totalAmount(BigDecimal.TEN)
+                .createdAt(createdAt)
+                .build();
+        for (OrderItem item : items) {
+            item.setOrder(order);
+            order.getItems().add(item);
+        }
+        return order;
+    }
+
+    private OrderItem item(Product product, int quantity, String price, String carbonSaved) {
+        return OrderItem.builder()
+                .product(product)
+                .quantity(quantity)
+                .price(new BigDecimal(price))
+                .carbonSaved(new BigDecimal(carbonSaved))
+                .build();
+    }
+
+    private Product product(String title) {
+        return TestFixtures.product(title, seller);
+    }
+}
@@ -0,0 +1,100 @@
+package com.odoo.odoo.service;
+
+import com.odoo.odoo.TestFixtures;
+import com.odoo.odoo.model.Order;
+import com.odoo.odoo.model.Product;
+import com.odoo.odoo.model.User;
+import com.odoo.odoo.repository.UserRepository;
+import com.odoo.odoo.util.CarbonCalculatorUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+
+import static com.odoo.odoo.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({UserCounterService.class, CarbonCalculatorUtil.class})
+class UserCounterServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserCounterService counters;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User buyer;
+    private User seller;
+
+    @BeforeEach
+    void setUp() {
+        buyer = entityManager.persist(user("counter-buyer"));
+        seller = entityManager.persist(user("counter-seller"));
+        entityManager.persist(product("Desk", Product.ProductStatus.ACTIVE));
+        entityManager.persist(product("Lamp", Product.ProductStatus.ACTIVE));
+        entityManager.persist(product("Chair", Product.ProductStatus.SOLD));
+    }
+
+    @Test
+    void placedAndCancelledOrdersMoveTheCounters() {
+        Order first = entityManager.persist(order(new BigDecimal("2.55")));
+        Order second = entityManager.persist(order(new BigDecimal("1.00")));
+
+        counters.orderPlaced(first, 1);
+        counters.orderPlaced(second, 0);
+        counters.orderCancelled(first);
+
+        User updatedBuyer = reload(buyer);
+        assertThat(updatedBuyer.getOrdersPlaced()).isEqualTo(1);
+        assertThat(updatedBuyer.getTotalCarbonSaved()).isEqualByComparingTo("1.00");
+        assertThat(updatedBuyer.getSustainabilityPoints()).isEqualTo(10);
+        assertThat(reload(seller).getActiveListings()).isEqualTo(-1);
+    }
+
+    @Test
+    void reconciliationRecomputesCountersFromOrdersAndProducts() {
+        entityManager.persist(order(new BigDecimal("2.55")));
+        entityManager.persist(order(new BigDecimal("1.00")));
+        Order cancelled = order(new BigDecimal("9.00"));
+        cancelled.setStatus(Order.OrderStatus.CANCELLED);
+        entityManager.persist(cancelled);
+        entityManager.flush();
+
+        counters.activeListingsChanged(seller.getId(), 40);
+        counters.reconcile();
+
+        User reconciledBuyer = reload(buyer);
+        assertThat(reconciledBuyer.getOrdersPlaced()).isEqualTo(2);
+        assertThat(reconciledBuyer.getTotalCarbonSaved()).isEqualByComparingTo("3.55");
+        assertThat(reconciledBuyer.getSustainabilityPoints()).isEqualTo(35);
+        assertThat(reload(seller).getActiveListings()).isEqualTo(2);
+    }
+
+    private User reload(User user) {
+        entityManager.clear();
+        return userRepository.findById(user.getId()).orElseThrow();
+    }
+
+    private Product product(String title, Product.ProductStatus status) {
+        Product product = TestFixtures.product(title, seller);
+        product.setStatus(status);
+        return product;
+    }
+
+    private Order order(BigDecimal carbonSaved) {
+        return Order.builder()
+                .buyer(buyer)
+                .seller(seller)
+                .totalAmount(BigDecimal.TEN)
+                .totalCarbonSaved(carbonSaved)
+                .build();
+    }
+}
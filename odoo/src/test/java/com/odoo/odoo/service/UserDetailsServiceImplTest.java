@@ -0,0 +1,59 @@
+package com.odoo.odoo.service;
+
+import com.odoo.odoo.config.UserChangeListener;
+import com.odoo.odoo.model.User;
+import com.odoo.odoo.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Principals are evicted after commit, so the test commits its own transactions
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({UserDetailsServiceImpl.class, UserChangeListener.class})
+class UserDetailsServiceImplTest {
+
+    private static final String EMAIL = "principal@ecofinds.test";
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(User.builder()
+                .email(EMAIL)
+                .username("principal")
+                .password("secret")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll(userRepository.findByEmail(EMAIL).stream().toList());
+    }
+
+    @Test
+    void aRoleChangeIsSeenWithoutWaitingForTheCacheToExpire() {
+        assertThat(userDetailsService.loadPrincipal(EMAIL).getRole()).isEqualTo(User.UserRole.BUYER);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                userRepository.findByEmail(EMAIL).orElseThrow().setRole(User.UserRole.SELLER));
+
+        assertThat(userDetailsService.loadPrincipal(EMAIL).getRole()).isEqualTo(User.UserRole.SELLER);
+    }
+}